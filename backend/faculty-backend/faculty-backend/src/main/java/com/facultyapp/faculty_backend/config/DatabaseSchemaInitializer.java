@@ -0,0 +1,56 @@
+package com.facultyapp.faculty_backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Applies {@code db/postgres-schema.sql} once Hibernate has created/updated
+ * the tables: the PostgreSQL-specific pieces (sequence alignment, partial
+ * and GIN indexes, ...) that JPA annotations cannot express. Every statement
+ * in the script is idempotent, so it runs on each startup.
+ */
+@Component
+public class DatabaseSchemaInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSchemaInitializer.class);
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    // depends on the EntityManagerFactory so that ddl-auto has already run
+    public DatabaseSchemaInitializer(
+            DataSource dataSource,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.db.schema-init.enabled:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+
+        ResourceDatabasePopulator populator =
+                new ResourceDatabasePopulator(new ClassPathResource("db/postgres-schema.sql"));
+        populator.execute(dataSource);
+
+        log.info("Applied db/postgres-schema.sql");
+    }
+
+    private boolean isPostgres() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.facultyapp.faculty_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background pool for notification fan-out, so a request that notifies the
+ * whole campus returns before the rows are written. One thread by default:
+ * fan-outs are set-based and cheap, and running them one at a time keeps
+ * them from competing with request traffic for connections.
+ *
+ * Also the writer pool for notification streams (SSE), the counterpart of
+ * the chat socket dispatcher, and the thread the retention job runs on.
+ */
+@Configuration
+public class NotificationExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor notificationFanoutExecutor(
+            @Value("${app.notifications.fanout.threads:1}") int threads,
+            @Value("${app.notifications.fanout.queue-capacity:256}") int queueCapacity) {
+
+        AtomicInteger counter = new AtomicInteger();
+
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "notification-fanout-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Threads that write queued events to notification streams. Publishers
+     * only enqueue; a slow client ties up one of these, never a request.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor notificationStreamExecutor(
+            @Value("${app.notifications.stream.dispatch-threads:2}") int threads) {
+
+        AtomicInteger counter = new AtomicInteger();
+
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10_000),
+                r -> {
+                    Thread t = new Thread(r, "notification-stream-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * One thread and no queue for NotificationRetentionService: its paced
+     * run stays off the shared scheduler thread, and a run can't start
+     * while the previous one is still going.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor notificationRetentionExecutor() {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "notification-retention");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,52 @@
+package com.facultyapp.faculty_backend.config;
+
+import com.facultyapp.faculty_backend.realtime.ChatWebSocketHandler;
+import com.facultyapp.faculty_backend.realtime.JwtHandshakeInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final ChatWebSocketHandler chatHandler;
+    private final JwtHandshakeInterceptor handshakeInterceptor;
+
+    public WebSocketConfig(
+            ChatWebSocketHandler chatHandler,
+            JwtHandshakeInterceptor handshakeInterceptor) {
+        this.chatHandler = chatHandler;
+        this.handshakeInterceptor = handshakeInterceptor;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(chatHandler, "/ws/chat")
+                .addInterceptors(handshakeInterceptor)
+                .setAllowedOrigins("http://localhost:5173");
+    }
+
+    /**
+     * Threads that write queued frames to sockets. Publishers never block on
+     * a socket; only these threads do.
+     *
+     * Static so it doesn't need this configuration instance: the chat handler
+     * injected above depends (via ChatSubscriberRegistry) on this executor.
+     */
+    @Bean
+    public static ThreadPoolTaskExecutor chatDispatchExecutor(
+            @Value("${app.chat.ws.dispatch-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("chat-ws-");
+        executor.initialize();
+        return executor;
+    }
+}
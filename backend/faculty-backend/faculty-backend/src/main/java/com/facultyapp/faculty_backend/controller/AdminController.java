@@ -1,19 +1,64 @@
 package com.facultyapp.faculty_backend.controller;
 
+import com.facultyapp.faculty_backend.dto.BroadcastRequest;
+import com.facultyapp.faculty_backend.dto.BroadcastResponse;
 import com.facultyapp.faculty_backend.entity.Faculty;
+import com.facultyapp.faculty_backend.realtime.ChatSubscriberRegistry;
+import com.facultyapp.faculty_backend.realtime.NotificationStreamRegistry;
+import com.facultyapp.faculty_backend.security.JwtUtil;
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import com.facultyapp.faculty_backend.security.PrincipalCache;
+import com.facultyapp.faculty_backend.security.RateLimitFilter;
+import com.facultyapp.faculty_backend.service.BroadcastService;
 import com.facultyapp.faculty_backend.service.FacultyService;
+import com.facultyapp.faculty_backend.service.MessageArchiveService;
+import com.facultyapp.faculty_backend.service.MessageWindowCache;
+import com.facultyapp.faculty_backend.service.NotificationFanoutService;
+import com.facultyapp.faculty_backend.service.NotificationRetentionService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
 public class AdminController {
 
     private final FacultyService facultyService;
+    private final PrincipalCache principalCache;
+    private final JwtUtil jwtUtil;
+    private final RateLimitFilter rateLimitFilter;
+    private final ChatSubscriberRegistry chatSubscribers;
+    private final MessageWindowCache messageWindowCache;
+    private final MessageArchiveService messageArchive;
+    private final BroadcastService broadcastService;
+    private final NotificationFanoutService notificationFanout;
+    private final NotificationRetentionService notificationRetention;
+    private final NotificationStreamRegistry notificationStreams;
 
-    public AdminController(FacultyService facultyService) {
+    public AdminController(
+            FacultyService facultyService,
+            PrincipalCache principalCache,
+            JwtUtil jwtUtil,
+            RateLimitFilter rateLimitFilter,
+            ChatSubscriberRegistry chatSubscribers,
+            MessageWindowCache messageWindowCache,
+            MessageArchiveService messageArchive,
+            BroadcastService broadcastService,
+            NotificationFanoutService notificationFanout,
+            NotificationRetentionService notificationRetention,
+            NotificationStreamRegistry notificationStreams) {
         this.facultyService = facultyService;
+        this.principalCache = principalCache;
+        this.jwtUtil = jwtUtil;
+        this.rateLimitFilter = rateLimitFilter;
+        this.chatSubscribers = chatSubscribers;
+        this.messageWindowCache = messageWindowCache;
+        this.messageArchive = messageArchive;
+        this.broadcastService = broadcastService;
+        this.notificationFanout = notificationFanout;
+        this.notificationRetention = notificationRetention;
+        this.notificationStreams = notificationStreams;
     }
 
     @GetMapping("/faculties/pending")
@@ -61,4 +106,56 @@ public class AdminController {
         return "Faculty deleted";
     }
 
+    // ================= BROADCAST =================
+    @PostMapping("/broadcast")
+    public BroadcastResponse broadcast(CurrentUser me, @RequestBody BroadcastRequest req) {
+        return broadcastService.broadcast(me, req.getContent());
+    }
+
+    // ================= CACHE STATS =================
+    @GetMapping("/stats/principal-cache")
+    public Map<String, Long> principalCacheStats() {
+        return principalCache.stats();
+    }
+
+    @GetMapping("/stats/token-cache")
+    public Map<String, Long> tokenCacheStats() {
+        return jwtUtil.cacheStats();
+    }
+
+    @GetMapping("/stats/rate-limit")
+    public Map<String, Integer> rateLimitStats() {
+        return rateLimitFilter.stats();
+    }
+
+    @GetMapping("/stats/chat-sockets")
+    public Map<String, Integer> chatSocketStats() {
+        return chatSubscribers.stats();
+    }
+
+    @GetMapping("/stats/message-cache")
+    public Map<String, Object> messageCacheStats() {
+        return messageWindowCache.stats();
+    }
+
+    @GetMapping("/stats/message-archive")
+    public Map<String, Object> messageArchiveStats() {
+        return messageArchive.stats();
+    }
+
+    @GetMapping("/stats/notification-fanout")
+    public Map<String, Object> notificationFanoutStats() {
+        return notificationFanout.stats();
+    }
+
+    @GetMapping("/stats/notification-retention")
+    public Map<String, Object> notificationRetentionStats() {
+        return notificationRetention.stats();
+    }
+
+    @GetMapping("/stats/notification-streams")
+    public Map<String, Object> notificationStreamStats() {
+        return notificationStreams.stats();
+    }
+
 }
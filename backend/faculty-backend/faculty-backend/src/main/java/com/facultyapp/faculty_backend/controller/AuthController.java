@@ -5,7 +5,9 @@ import com.facultyapp.faculty_backend.dto.LoginResponse;
 import com.facultyapp.faculty_backend.dto.UserProfileResponse;
 import com.facultyapp.faculty_backend.service.AuthService;
 import com.facultyapp.faculty_backend.service.PasswordResetService;
+import com.facultyapp.faculty_backend.service.SessionService;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -20,12 +22,15 @@ public class AuthController {
 
     private final AuthService authService;
     private final PasswordResetService passwordResetService;
+    private final SessionService sessionService;
 
     public AuthController(
             AuthService authService,
-            PasswordResetService passwordResetService) {
+            PasswordResetService passwordResetService,
+            SessionService sessionService) {
         this.authService = authService;
         this.passwordResetService = passwordResetService;
+        this.sessionService = sessionService;
     }
 
     // ================= CURRENT USER PROFILE =================
@@ -44,6 +49,21 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    // ================= LOGOUT =================
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Bearer token is required"));
+        }
+
+        sessionService.logout(authHeader.substring("Bearer ".length()));
+
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+
     // ================= FORGOT PASSWORD =================
     @PostMapping("/forgot-password")
     public ResponseEntity<?> forgotPassword(
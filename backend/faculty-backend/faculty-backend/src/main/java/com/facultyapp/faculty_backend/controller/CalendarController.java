@@ -1,8 +1,9 @@
 package com.facultyapp.faculty_backend.controller;
 
+import com.facultyapp.faculty_backend.dto.NotificationFanoutProgress;
 import com.facultyapp.faculty_backend.entity.CalendarEvent;
+import com.facultyapp.faculty_backend.security.CurrentUser;
 import com.facultyapp.faculty_backend.service.CalendarService;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,16 +25,22 @@ public class CalendarController {
     @PostMapping("/events")
     public CalendarEvent createEvent(
             @RequestBody CalendarEvent event,
-            Authentication auth) {
-        return service.createEvent(event, auth.getName());
+            CurrentUser me) {
+        return service.createEvent(event, me);
+    }
+
+    // 📡 Invite delivery progress (notifications are sent in the background)
+    @GetMapping("/events/{id}/invites")
+    public NotificationFanoutProgress getInviteProgress(@PathVariable Long id) {
+        return service.getInviteProgress(id);
     }
 
     // 🔒 Delete own event
     @DeleteMapping("/events/{id}")
     public void deleteEvent(
             @PathVariable Long id,
-            Authentication auth) {
-        service.deleteEvent(id, auth.getName());
+            CurrentUser me) {
+        service.deleteEvent(id, me.getId());
     }
 
     @GetMapping("/upcoming")
@@ -1,27 +1,37 @@
 package com.facultyapp.faculty_backend.controller;
 
-import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.dto.ConversationResponse;
+import com.facultyapp.faculty_backend.security.CurrentUser;
 import com.facultyapp.faculty_backend.service.ConversationService;
-import com.facultyapp.faculty_backend.service.UserService;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/conversations")
 public class ConversationController {
 
     private final ConversationService service;
-    private final UserService userService;
 
-    public ConversationController(ConversationService service, UserService userService) {
+    public ConversationController(ConversationService service) {
         this.service = service;
-        this.userService = userService;
+    }
+
+    @GetMapping
+    public List<ConversationResponse> inbox(CurrentUser me) {
+        return service.getInbox(me.getId());
+    }
+
+    @PostMapping("/{id}/read")
+    public void markRead(
+            CurrentUser me,
+            @PathVariable Long id,
+            @RequestParam(required = false) Long messageId) {
+        service.markRead(id, me.getId(), messageId);
     }
 
     @PostMapping("/{otherUserId}")
-    public Long create(Authentication auth, @PathVariable Long otherUserId) {
-        User me = userService.getByEmail(auth.getName());
-        User other = userService.getById(otherUserId);
-        return service.findOrCreate(me, other).getId();
+    public Long create(CurrentUser me, @PathVariable Long otherUserId) {
+        return service.findOrCreateId(me.getId(), otherUserId);
     }
 }
@@ -1,48 +1,59 @@
 package com.facultyapp.faculty_backend.controller;
 
+import com.facultyapp.faculty_backend.dto.MessagePageResponse;
+import com.facultyapp.faculty_backend.dto.MessageSearchResponse;
 import com.facultyapp.faculty_backend.dto.SendMessageRequest;
-import com.facultyapp.faculty_backend.entity.*;
+import com.facultyapp.faculty_backend.security.CurrentUser;
 import com.facultyapp.faculty_backend.service.*;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import com.facultyapp.faculty_backend.dto.MessageResponse;
-import java.util.List;
 
 @RestController
 @RequestMapping("/messages")
 public class MessageController {
 
     private final MessageService service;
-    private final UserService userService;
 
-    public MessageController(MessageService service, UserService userService) {
+    public MessageController(MessageService service) {
         this.service = service;
-        this.userService = userService;
     }
 
     @PostMapping
-    public MessageResponse send(Authentication auth, @RequestBody SendMessageRequest req) {
-        User user = userService.getByEmail(auth.getName());
-        return service.sendMessage(req.getConversationId(), user, req.getContent());
+    public MessageResponse send(CurrentUser me, @RequestBody SendMessageRequest req) {
+        return service.sendMessage(req.getConversationId(), me, req.getContent());
+    }
+
+    @GetMapping("/search")
+    public MessageSearchResponse search(
+            CurrentUser me,
+            @RequestParam String q,
+            @RequestParam(required = false) Long conversationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return service.search(me.getId(), q, conversationId, cursor, limit);
     }
 
     @GetMapping("/{conversationId}")
-    public List<MessageResponse> history(@PathVariable Long conversationId) {
-        return service.getMessages(conversationId);
+    public MessagePageResponse history(
+            CurrentUser me,
+            @PathVariable Long conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return service.getMessages(conversationId, me.getId(), before, after, limit);
     }
 
     @DeleteMapping("/{messageId}")
-    public void delete(Authentication auth, @PathVariable Long messageId) {
-        service.deleteMessage(messageId, userService.getByEmail(auth.getName()));
+    public void delete(CurrentUser me, @PathVariable Long messageId) {
+        service.deleteMessage(messageId, me.getId());
     }
 
     @PutMapping("/{messageId}")
     public MessageResponse edit(
-            Authentication auth,
+            CurrentUser me,
             @PathVariable Long messageId,
             @RequestBody SendMessageRequest req) {
 
-        User user = userService.getByEmail(auth.getName());
-        return service.editMessage(messageId, user, req.getContent());
+        return service.editMessage(messageId, me.getId(), req.getContent());
     }
 }
@@ -1,36 +1,83 @@
 package com.facultyapp.faculty_backend.controller;
 
-import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.dto.NotificationPageResponse;
+import com.facultyapp.faculty_backend.dto.UnreadCountResponse;
+import com.facultyapp.faculty_backend.realtime.NotificationStreamRegistry;
+import com.facultyapp.faculty_backend.security.CurrentUser;
 import com.facultyapp.faculty_backend.service.NotificationService;
-import com.facultyapp.faculty_backend.service.UserService;
-import org.springframework.security.core.Authentication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/notifications")
 public class NotificationController {
 
     private final NotificationService service;
-    private final UserService userService;
+    private final NotificationStreamRegistry streams;
 
-    public NotificationController(NotificationService service, UserService userService) {
+    public NotificationController(NotificationService service, NotificationStreamRegistry streams) {
         this.service = service;
-        this.userService = userService;
+        this.streams = streams;
     }
 
     @GetMapping
-    public Object myNotifications(Authentication auth) {
-        User me = userService.getByEmail(auth.getName());
-        return service.getMyNotifications(me);
+    public NotificationPageResponse myNotifications(
+            CurrentUser me,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean unread) {
+        return service.getMyNotifications(me.getId(), cursor, limit, category, unread);
+    }
+
+    // badge polling: served from counters, never counts notifications
+    @GetMapping("/unread-count")
+    public UnreadCountResponse unreadCount(CurrentUser me) {
+        return service.getUnreadCount(me.getId());
+    }
+
+    // live feed (SSE); EventSource resends Last-Event-ID when it reconnects
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            CurrentUser me,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return streams.open(me.getId(), lastEventId);
+    }
+
+    // ================= BULK =================
+    // no selector = everything; ids / category / before (inclusive) narrow it
+
+    @PatchMapping("/read")
+    public Map<String, Long> markAllRead(
+            CurrentUser me,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return Map.of("updated", service.markAllAsRead(me.getId(), ids, category, before));
+    }
+
+    @DeleteMapping
+    public Map<String, Long> deleteAll(
+            CurrentUser me,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return Map.of("deleted", service.deleteAll(me.getId(), ids, category, before));
     }
 
     @PatchMapping("/{id}/read")
-    public void markRead(@PathVariable Long id, Authentication auth) {
-        service.markAsRead(id, userService.getByEmail(auth.getName()));
+    public void markRead(@PathVariable Long id, CurrentUser me) {
+        service.markAsRead(id, me.getId());
     }
 
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id, Authentication auth) {
-        service.delete(id, userService.getByEmail(auth.getName()));
+    public void delete(@PathVariable Long id, CurrentUser me) {
+        service.delete(id, me.getId());
     }
 }
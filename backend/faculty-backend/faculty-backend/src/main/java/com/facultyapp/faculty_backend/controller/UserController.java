@@ -1,10 +1,9 @@
 package com.facultyapp.faculty_backend.controller;
 
 import com.facultyapp.faculty_backend.dto.ChatUserResponse;
-import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.security.CurrentUser;
 import com.facultyapp.faculty_backend.service.UserService;
 
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,11 +19,9 @@ public class UserController {
     }
 
     @GetMapping("/chat-users")
-    public List<ChatUserResponse> chatUsers(Authentication auth) {
+    public List<ChatUserResponse> chatUsers(CurrentUser me) {
 
-        User me = userService.getByEmail(auth.getName());
-
-        return userService.getChatUsers(me)
+        return userService.getChatUsers(me.getId())
                 .stream()
                 .map(u -> {
                     ChatUserResponse dto = new ChatUserResponse();
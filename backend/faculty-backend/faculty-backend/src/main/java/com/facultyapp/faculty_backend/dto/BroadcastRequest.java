@@ -0,0 +1,14 @@
+package com.facultyapp.faculty_backend.dto;
+
+public class BroadcastRequest {
+
+    private String content;
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
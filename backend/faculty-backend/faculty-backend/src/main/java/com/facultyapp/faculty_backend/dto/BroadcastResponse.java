@@ -0,0 +1,28 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class BroadcastResponse {
+
+    private int recipients;
+    private int newConversations;
+    private LocalDateTime sentAt;
+
+    public BroadcastResponse(int recipients, int newConversations, LocalDateTime sentAt) {
+        this.recipients = recipients;
+        this.newConversations = newConversations;
+        this.sentAt = sentAt;
+    }
+
+    public int getRecipients() {
+        return recipients;
+    }
+
+    public int getNewConversations() {
+        return newConversations;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+}
@@ -8,6 +8,37 @@ public class ConversationResponse {
     private Long otherUserId;
     private String otherUserName;
 
+    // null until the first message is sent
+    private Long lastMessageId;
+    private Long lastMessageSenderId;
+    private String lastMessagePreview;
+    private LocalDateTime lastMessageAt;
+
+    private long unreadCount;
+
+    public ConversationResponse() {
+    }
+
+    // used by ConversationRepository#findInbox
+    public ConversationResponse(
+            Long id,
+            Long otherUserId,
+            String otherUserName,
+            Long lastMessageId,
+            Long lastMessageSenderId,
+            String lastMessagePreview,
+            LocalDateTime lastMessageAt,
+            Long unreadCount) {
+        this.id = id;
+        this.otherUserId = otherUserId;
+        this.otherUserName = otherUserName;
+        this.lastMessageId = lastMessageId;
+        this.lastMessageSenderId = lastMessageSenderId;
+        this.lastMessagePreview = lastMessagePreview;
+        this.lastMessageAt = lastMessageAt;
+        this.unreadCount = unreadCount != null ? unreadCount : 0;
+    }
+
     // ===== Getters & Setters =====
 
     public Long getId() {
@@ -34,4 +65,44 @@ public class ConversationResponse {
         this.otherUserName = otherUserName;
     }
 
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public void setLastMessageId(Long lastMessageId) {
+        this.lastMessageId = lastMessageId;
+    }
+
+    public Long getLastMessageSenderId() {
+        return lastMessageSenderId;
+    }
+
+    public void setLastMessageSenderId(Long lastMessageSenderId) {
+        this.lastMessageSenderId = lastMessageSenderId;
+    }
+
+    public String getLastMessagePreview() {
+        return lastMessagePreview;
+    }
+
+    public void setLastMessagePreview(String lastMessagePreview) {
+        this.lastMessagePreview = lastMessagePreview;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.facultyapp.faculty_backend.dto;
+
+import com.facultyapp.faculty_backend.entity.FacultyStatus;
+import com.facultyapp.faculty_backend.entity.Role;
+
+/**
+ * Everything the login path needs, read with a single user ⟕ faculty query
+ * (see {@code UserRepository#findLoginCandidate}).
+ */
+public class LoginCandidate {
+
+    private final Long id;
+    private final String email;
+    private final String passwordHash;
+    private final Role role;
+    private final boolean enabled;
+    private final int tokenVersion;
+    private final FacultyStatus facultyStatus; // null for admins / missing profile
+
+    public LoginCandidate(
+            Long id,
+            String email,
+            String passwordHash,
+            Role role,
+            boolean enabled,
+            int tokenVersion,
+            FacultyStatus facultyStatus) {
+        this.id = id;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.enabled = enabled;
+        this.tokenVersion = tokenVersion;
+        this.facultyStatus = facultyStatus;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public FacultyStatus getFacultyStatus() {
+        return facultyStatus;
+    }
+}
@@ -0,0 +1,50 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.util.List;
+
+public class MessagePageResponse {
+
+    // always oldest -> newest, ready to render
+    private List<MessageResponse> messages;
+
+    // pass back as ?before= (null when exhausted), or as ?after= when paging
+    // forward: then always the newest position, even on the last page
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public MessagePageResponse() {
+    }
+
+    public MessagePageResponse(List<MessageResponse> messages, String nextCursor, boolean hasMore) {
+        this.messages = messages;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // ===== Getters & Setters =====
+
+    public List<MessageResponse> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<MessageResponse> messages) {
+        this.messages = messages;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -12,6 +12,25 @@ public class MessageResponse {
 
     private LocalDateTime createdAt;
 
+    public MessageResponse() {
+    }
+
+    // projection constructor for MessageRepository's history queries
+    public MessageResponse(
+            Long id,
+            Long senderId,
+            String senderName,
+            String content,
+            boolean edited,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.content = content;
+        this.edited = edited;
+        this.createdAt = createdAt;
+    }
+
     // ===== Getters & Setters =====
 
     public Long getId() {
@@ -0,0 +1,50 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a ranked search: (rank, id), both descending. Opaque to
+ * clients, like {@link MessageCursor}.
+ */
+public class MessageSearchCursor {
+
+    // before the first page: above every real rank
+    public static final MessageSearchCursor START =
+            new MessageSearchCursor(Float.POSITIVE_INFINITY, Long.MAX_VALUE);
+
+    private final float rank;
+    private final Long id;
+
+    public MessageSearchCursor(float rank, Long id) {
+        this.rank = rank;
+        this.id = id;
+    }
+
+    public static MessageSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new MessageSearchCursor(
+                    Float.parseFloat(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    // Float.toString round-trips exactly, so the next page starts right after this row
+    public String encode() {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
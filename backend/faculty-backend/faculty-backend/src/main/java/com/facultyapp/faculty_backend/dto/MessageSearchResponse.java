@@ -0,0 +1,49 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.util.List;
+
+public class MessageSearchResponse {
+
+    // best match first
+    private List<MessageSearchHit> results;
+
+    // pass back as ?cursor= for the next page; null when exhausted
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public MessageSearchResponse() {
+    }
+
+    public MessageSearchResponse(List<MessageSearchHit> results, String nextCursor, boolean hasMore) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // ===== Getters & Setters =====
+
+    public List<MessageSearchHit> getResults() {
+        return results;
+    }
+
+    public void setResults(List<MessageSearchHit> results) {
+        this.results = results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
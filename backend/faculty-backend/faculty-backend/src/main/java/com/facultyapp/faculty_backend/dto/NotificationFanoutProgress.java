@@ -0,0 +1,87 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Live progress of one background fan-out. Written by the fan-out thread,
+ * read by request threads, hence the volatile fields.
+ */
+public class NotificationFanoutProgress {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    // stored once and fanned out on read: visible to everyone at once, nothing to track
+    public static final String ON_READ = "ON_READ";
+
+    private final String key;
+    private final LocalDateTime queuedAt = LocalDateTime.now();
+
+    private volatile String status = QUEUED;
+    private volatile long total;
+    private volatile long delivered;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public NotificationFanoutProgress(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public void setDelivered(long delivered) {
+        this.delivered = delivered;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,49 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.util.List;
+
+public class NotificationPageResponse {
+
+    // newest first
+    private List<NotificationResponse> notifications;
+
+    // pass back as ?cursor=; null when exhausted
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public NotificationPageResponse() {
+    }
+
+    public NotificationPageResponse(List<NotificationResponse> notifications, String nextCursor, boolean hasMore) {
+        this.notifications = notifications;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // ===== Getters & Setters =====
+
+    public List<NotificationResponse> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<NotificationResponse> notifications) {
+        this.notifications = notifications;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,92 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class NotificationResponse {
+
+    private Long id;
+    // true for org-wide notifications stored once for everyone
+    private boolean broadcast;
+    private String category;
+    private String type;
+    private String message;
+    private String context;
+    private Long conversationId;
+    private boolean read;
+    private boolean muted;
+    // > 1 when repeated chat messages were folded into this notification
+    private int count;
+    private LocalDateTime createdAt;
+
+    public NotificationResponse() {
+    }
+
+    public NotificationResponse(
+            Long id,
+            boolean broadcast,
+            String category,
+            String type,
+            String message,
+            String context,
+            Long conversationId,
+            boolean read,
+            boolean muted,
+            int count,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.broadcast = broadcast;
+        this.category = category;
+        this.type = type;
+        this.message = message;
+        this.context = context;
+        this.conversationId = conversationId;
+        this.read = read;
+        this.muted = muted;
+        this.count = count;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isBroadcast() {
+        return broadcast;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getContext() {
+        return context;
+    }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.facultyapp.faculty_backend.dto;
+
+import java.util.Map;
+
+public class UnreadCountResponse {
+
+    private long total;
+    private Map<String, Long> byCategory;
+
+    public UnreadCountResponse(long total, Map<String, Long> byCategory) {
+        this.total = total;
+        this.byCategory = byCategory;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+}
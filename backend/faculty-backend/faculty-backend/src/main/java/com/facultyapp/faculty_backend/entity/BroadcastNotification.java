@@ -0,0 +1,93 @@
+package com.facultyapp.faculty_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An org-wide notification, stored once instead of once per user. Each
+ * user sees it in their feed until they dismiss it; per-user read/dismiss
+ * state lives in {@link BroadcastNotificationState}, only for users who
+ * acted on it.
+ *
+ * Ids come from the same sequence as {@link Notification}, so a
+ * notification id is unique across both kinds.
+ */
+@Entity
+@Table(name = "broadcast_notifications", indexes = {
+        // keyset pagination of the merged feed, newest first
+        @Index(name = "idx_broadcast_notifications_created_id", columnList = "created_at DESC, id DESC")
+})
+public class BroadcastNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "broadcast_notifications_seq")
+    @SequenceGenerator(name = "broadcast_notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
+    private Long id;
+
+    // not shown to the user who caused it
+    @Column(name = "sender_id")
+    private Long senderId;
+
+    private String category;
+
+    private String type;
+
+    @Column(length = 2000)
+    private String message;
+
+    private String context;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // ======================
+    // GETTERS & SETTERS
+    // ======================
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSenderId() {
+        return senderId;
+    }
+
+    public void setSenderId(Long senderId) {
+        this.senderId = senderId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getContext() {
+        return context;
+    }
+
+    public void setContext(String context) {
+        this.context = context;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
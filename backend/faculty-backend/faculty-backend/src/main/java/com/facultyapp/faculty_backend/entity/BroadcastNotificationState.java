@@ -0,0 +1,94 @@
+package com.facultyapp.faculty_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One user's state for one {@link BroadcastNotification}. Sparse: a row
+ * exists only once the user has read or dismissed the broadcast (see
+ * {@code BroadcastNotificationStateRepository}), and reads their
+ * {@link BroadcastReadMark} already covers need none.
+ */
+@Entity
+@Table(name = "broadcast_notification_states", indexes = {
+        // one user's state rows, for the feed and unread badge joins
+        @Index(name = "idx_broadcast_notification_states_user", columnList = "user_id, broadcast_id")
+})
+@IdClass(BroadcastNotificationState.Key.class)
+public class BroadcastNotificationState {
+
+    @Id
+    @Column(name = "broadcast_id")
+    private Long broadcastId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private boolean read;
+
+    @Column(nullable = false)
+    private boolean dismissed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // ===== Getters =====
+
+    public Long getBroadcastId() {
+        return broadcastId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public boolean isDismissed() {
+        return dismissed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // ===== Composite key =====
+
+    public static class Key implements Serializable {
+
+        private Long broadcastId;
+        private Long userId;
+
+        public Key() {
+        }
+
+        public Key(Long broadcastId, Long userId) {
+            this.broadcastId = broadcastId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(broadcastId, other.broadcastId)
+                    && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(broadcastId, userId);
+        }
+    }
+}
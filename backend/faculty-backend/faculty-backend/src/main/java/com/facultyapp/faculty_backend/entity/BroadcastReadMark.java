@@ -0,0 +1,49 @@
+package com.facultyapp.faculty_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's "read all" high-water mark over broadcasts: every
+ * {@link BroadcastNotification} at or before ({@code readBeforeAt},
+ * {@code readBeforeId}) in (created_at, id) order counts as read, so a bulk
+ * mark-as-read writes this one row instead of a
+ * {@link BroadcastNotificationState} per broadcast. Only ever moves forward
+ * (see {@code NotificationRepository#markAllReadBefore}).
+ */
+@Entity
+@Table(name = "broadcast_read_marks")
+public class BroadcastReadMark {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "read_before_at", nullable = false)
+    private LocalDateTime readBeforeAt;
+
+    @Column(name = "read_before_id", nullable = false)
+    private Long readBeforeId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // ===== Getters =====
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getReadBeforeAt() {
+        return readBeforeAt;
+    }
+
+    public Long getReadBeforeId() {
+        return readBeforeId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.facultyapp.faculty_backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -9,7 +10,8 @@ import java.time.LocalTime;
 public class CalendarEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_events_seq")
+    @SequenceGenerator(name = "calendar_events_seq", sequenceName = "calendar_events_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -29,6 +31,7 @@ public class CalendarEvent {
 
     private boolean userEvent; // true = created by user
 
+    @JsonIgnore // lazy; never serialize the creator (or its password hash)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
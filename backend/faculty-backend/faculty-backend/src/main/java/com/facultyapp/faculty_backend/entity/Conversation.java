@@ -5,24 +5,37 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "conversations")
+@Table(name = "conversations", indexes = {
+        // inbox lookup for the higher-id participant (user1 is covered by uk_conversations_pair)
+        @Index(name = "idx_conversations_user2", columnList = "user2_id")
+})
 public class Conversation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversations_seq")
+    @SequenceGenerator(name = "conversations_seq", sequenceName = "conversations_seq", allocationSize = 50)
     private Long id;
 
     // user1 <-> user2 (private chat)
-    @ManyToOne
+    // stored canonically: user1_id < user2_id, unique per pair (see db/postgres-schema.sql)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user1_id", nullable = false)
     private User user1;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user2_id", nullable = false)
     private User user2;
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // denormalised pointer to the newest message, kept by MessageService
+    // (plain column, not an FK, so deleting that message stays a single DELETE)
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
     @OneToMany(mappedBy = "conversation", cascade = CascadeType.ALL)
     private Set<Message> messages;
 
@@ -50,4 +63,12 @@ public class Conversation {
         this.user2 = user2;
     }
 
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
 }
@@ -0,0 +1,93 @@
+package com.facultyapp.faculty_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A participant's read high-water mark in one conversation: every message at
+ * or before ({@code lastReadAt}, {@code lastReadMessageId}) in (created_at, id)
+ * order counts as read. Ids alone don't follow time (pooled sequences).
+ * Only ever moves forward (see {@code ConversationReadRepository#advance}).
+ */
+@Entity
+@Table(name = "conversation_reads")
+@IdClass(ConversationRead.Key.class)
+public class ConversationRead {
+
+    @Id
+    @Column(name = "conversation_id")
+    private Long conversationId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    // created_at of that message; nullable only so ddl-auto can add it to
+    // existing rows, which db/postgres-schema.sql then backfills
+    @Column(name = "last_read_at")
+    private LocalDateTime lastReadAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // ===== Getters =====
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getLastReadMessageId() {
+        return lastReadMessageId;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // ===== Composite key =====
+
+    public static class Key implements Serializable {
+
+        private Long conversationId;
+        private Long userId;
+
+        public Key() {
+        }
+
+        public Key(Long conversationId, Long userId) {
+            this.conversationId = conversationId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(conversationId, other.conversationId)
+                    && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(conversationId, userId);
+        }
+    }
+}
@@ -4,18 +4,27 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // keyset pagination of a conversation's history, and unread counts:
+        // an index-only range count after a (created_at, id) read mark
+        @Index(name = "idx_messages_conversation_created_id_sender", columnList = "conversation_id, created_at, id, sender_id")
+})
 public class Message {
 
+    // pooled sequence: each app instance takes blocks of 50, so ids are
+    // unique but not in insert order across instances (or across a restart,
+    // or next to rows that take nextval in native SQL). Order and page by
+    // (created_at, id), never by id alone.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "messages_seq")
+    @SequenceGenerator(name = "messages_seq", sequenceName = "messages_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conversation_id")
     private Conversation conversation;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id")
     private User sender;
 
@@ -1,18 +1,32 @@
 package com.facultyapp.faculty_backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // per-conversation unread counts in the chat inbox
+        @Index(name = "idx_notifications_user_conversation", columnList = "user_id, conversation_id"),
+        // keyset pagination of a user's feed, newest first
+        @Index(name = "idx_notifications_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        // retention walks the whole table oldest first
+        @Index(name = "idx_notifications_created_id", columnList = "created_at, id")
+})
 public class Notification {
 
+    // pooled sequence: each app instance takes blocks of 50, so ids are
+    // unique but not in insert order across instances (or across a restart,
+    // or next to rows that take nextval in native SQL). Order and page by
+    // (created_at, id), never by id alone.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
-    // who receives the notification
-    @ManyToOne
+    // who receives the notification; lazy, never serialized (password hash)
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -28,9 +42,20 @@ public class Notification {
     // optional (meeting name, subject, etc.)
     private String context;
 
+    // set for new_message notifications only
+    @Column(name = "conversation_id")
+    private Long conversationId;
+
     private boolean read = false;
     private boolean muted = false;
 
+    // how many events this row stands for: repeated chat messages fold into
+    // one unread notification (see NotificationRepository#upsertForConversation);
+    // the default fills existing rows when the column is added
+    @Column(name = "repeat_count", columnDefinition = "integer default 1 not null")
+    private int count = 1;
+
+    // last event for coalesced rows
     private LocalDateTime createdAt = LocalDateTime.now();
 
     // ======================
@@ -81,6 +106,14 @@ public class Notification {
         this.context = context;
     }
 
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+
     public boolean isRead() {
         return read;
     }
@@ -97,6 +130,10 @@ public class Notification {
         this.muted = muted;
     }
 
+    public int getCount() {
+        return count;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
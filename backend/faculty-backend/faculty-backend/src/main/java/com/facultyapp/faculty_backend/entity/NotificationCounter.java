@@ -0,0 +1,76 @@
+package com.facultyapp.faculty_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A user's number of unread personal notifications in one category, kept in
+ * step with {@code notifications} by every statement that inserts, reads or
+ * deletes one (same transaction, usually the same statement). Badge polling
+ * reads these rows instead of counting notifications.
+ */
+@Entity
+@Table(name = "notification_counters")
+@IdClass(NotificationCounter.Key.class)
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "category")
+    private String category;
+
+    @Column(nullable = false)
+    private long unread;
+
+    // ===== Getters =====
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getUnread() {
+        return unread;
+    }
+
+    // ===== Composite key =====
+
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private String category;
+
+        public Key() {
+        }
+
+        public Key(Long userId, String category) {
+            this.userId = userId;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(userId, other.userId)
+                    && Objects.equals(category, other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, category);
+        }
+    }
+}
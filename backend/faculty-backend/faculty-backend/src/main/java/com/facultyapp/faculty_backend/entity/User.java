@@ -3,13 +3,17 @@ package com.facultyapp.faculty_backend.entity;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "users")
 public class User {
 
+    // pooled sequence: one nextval per 50 rows, and lets Hibernate batch inserts;
+    // blocks are per app instance, so ids don't follow insert order
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -34,6 +38,11 @@ public class User {
     @Column(name = "profile_image")
     private String profileImage;
 
+    // bumped to revoke every token issued so far (see SessionService)
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
     // =====================
     // CONSTRUCTORS
     // =====================
@@ -117,4 +126,12 @@ public class User {
         this.profileImage = profileImage;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.facultyapp.faculty_backend.exception;
+
+/**
+ * Thrown when the password-hashing executor is saturated. Mapped to
+ * 503 + Retry-After by {@link GlobalExceptionHandler}.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many login attempts in progress, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
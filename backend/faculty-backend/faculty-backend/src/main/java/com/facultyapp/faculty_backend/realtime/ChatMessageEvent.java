@@ -0,0 +1,37 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.dto.MessageResponse;
+
+/**
+ * Published by {@code MessageService} after a message is sent, edited or
+ * deleted; pushed to the conversation's WebSocket subscribers. Also the
+ * JSON payload clients receive.
+ */
+public class ChatMessageEvent {
+
+    public static final String CREATED = "message.created";
+    public static final String EDITED = "message.edited";
+    public static final String DELETED = "message.deleted";
+
+    private final String type;
+    private final Long conversationId;
+    private final MessageResponse message;
+
+    public ChatMessageEvent(String type, Long conversationId, MessageResponse message) {
+        this.type = type;
+        this.conversationId = conversationId;
+        this.message = message;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public MessageResponse getMessage() {
+        return message;
+    }
+}
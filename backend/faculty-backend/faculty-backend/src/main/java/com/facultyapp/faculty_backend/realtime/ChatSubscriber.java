@@ -0,0 +1,110 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.security.VerifiedToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One connected WebSocket client. Outbound frames go through a bounded queue
+ * drained by at most one dispatcher thread at a time, so publishers only ever
+ * do a non-blocking {@code offer}. A client that falls {@code capacity}
+ * frames behind is disconnected; it reconnects and catches up through
+ * {@code GET /messages/{id}?after=}.
+ */
+class ChatSubscriber {
+
+    static final CloseStatus TOO_SLOW = CloseStatus.POLICY_VIOLATION.withReason("Client too slow");
+    static final CloseStatus SESSION_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("Session expired");
+
+    private final WebSocketSession session;
+    private final Long userId;
+    private final VerifiedToken token;
+    private final Set<Long> conversations = ConcurrentHashMap.newKeySet();
+    private final Queue<TextMessage> outbound;
+    private final Executor dispatcher;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    ChatSubscriber(WebSocketSession session, Long userId, VerifiedToken token, int capacity, Executor dispatcher) {
+        this.session = session;
+        this.userId = userId;
+        this.token = token;
+        this.outbound = new ArrayBlockingQueue<>(capacity);
+        this.dispatcher = dispatcher;
+    }
+
+    String id() {
+        return session.getId();
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    // the token the socket was opened with; checked again on every frame
+    VerifiedToken token() {
+        return token;
+    }
+
+    // subscribed conversations, so unregister only touches those
+    Set<Long> conversations() {
+        return conversations;
+    }
+
+    void enqueue(TextMessage frame) {
+        if (!session.isOpen()) {
+            return;
+        }
+        if (!outbound.offer(frame)) {
+            close(TOO_SLOW);
+            return;
+        }
+        scheduleDrain();
+    }
+
+    void close(CloseStatus status) {
+        outbound.clear();
+        try {
+            session.close(status);
+        } catch (IOException ignored) {
+            // already gone
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close(CloseStatus.SERVICE_OVERLOAD);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            TextMessage frame;
+            while ((frame = outbound.poll()) != null && session.isOpen()) {
+                session.sendMessage(frame);
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+            // a publisher may have enqueued after our last poll
+            if (!outbound.isEmpty() && session.isOpen()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.security.TokenAuthenticator;
+import com.facultyapp.faculty_backend.security.VerifiedToken;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * In-process conversationId -> subscribers index for live chat delivery.
+ *
+ * A socket outlives the handshake that authenticated it, so its token is
+ * re-checked (in memory, see {@link TokenAuthenticator#isStillValid}) before
+ * every frame: once it expires, is logged out, or its user is deactivated,
+ * the socket is closed instead of being written to.
+ */
+@Component
+public class ChatSubscriberRegistry {
+
+    private final Map<Long, Set<ChatSubscriber>> byConversation = new ConcurrentHashMap<>();
+    private final Map<String, ChatSubscriber> bySession = new ConcurrentHashMap<>();
+
+    private final JsonMapper jsonMapper;
+    private final Executor dispatcher;
+    private final TokenAuthenticator tokenAuthenticator;
+    private final int queueCapacity;
+
+    public ChatSubscriberRegistry(
+            JsonMapper jsonMapper,
+            @Qualifier("chatDispatchExecutor") Executor dispatcher,
+            TokenAuthenticator tokenAuthenticator,
+            @Value("${app.chat.ws.queue-capacity:256}") int queueCapacity) {
+        this.jsonMapper = jsonMapper;
+        this.dispatcher = dispatcher;
+        this.tokenAuthenticator = tokenAuthenticator;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // ================= CONNECTION LIFECYCLE =================
+    void register(WebSocketSession session, Long userId, VerifiedToken token) {
+        bySession.put(session.getId(), new ChatSubscriber(session, userId, token, queueCapacity, dispatcher));
+    }
+
+    void unregister(WebSocketSession session) {
+        ChatSubscriber subscriber = bySession.remove(session.getId());
+        if (subscriber != null) {
+            subscriber.conversations().forEach(id -> unsubscribe(subscriber, id));
+        }
+    }
+
+    /** Closes the socket if its token no longer authenticates; true if it was closed. */
+    boolean closeIfExpired(ChatSubscriber subscriber) {
+        if (tokenAuthenticator.isStillValid(subscriber.token())) {
+            return false;
+        }
+        subscriber.close(ChatSubscriber.SESSION_EXPIRED);
+        return true;
+    }
+
+    ChatSubscriber get(WebSocketSession session) {
+        return bySession.get(session.getId());
+    }
+
+    // ================= SUBSCRIPTIONS =================
+    // add and remove inside compute, so removing an emptied set can't drop a new subscriber
+    void subscribe(ChatSubscriber subscriber, Long conversationId) {
+        byConversation.compute(conversationId, (id, set) -> {
+            Set<ChatSubscriber> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        subscriber.conversations().add(conversationId);
+    }
+
+    void unsubscribe(ChatSubscriber subscriber, Long conversationId) {
+        subscriber.conversations().remove(conversationId);
+        byConversation.computeIfPresent(conversationId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // ================= FAN-OUT =================
+
+    /**
+     * Runs after the sending transaction commits (or immediately when there
+     * is none), so subscribers never see a message that was rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatEvent(ChatMessageEvent event) {
+        Set<ChatSubscriber> subscribers = byConversation.get(event.getConversationId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        // serialise once, share the frame between all subscribers
+        TextMessage frame = new TextMessage(jsonMapper.writeValueAsString(event));
+        subscribers.forEach(s -> {
+            if (!closeIfExpired(s)) {
+                s.enqueue(frame);
+            }
+        });
+    }
+
+    public Map<String, Integer> stats() {
+        return Map.of(
+                "sessions", bySession.size(),
+                "conversations", byConversation.size());
+    }
+}
@@ -0,0 +1,82 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.repository.ConversationRepository;
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import com.facultyapp.faculty_backend.security.VerifiedToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * {@code /ws/chat}. Clients send
+ * {@code {"action":"subscribe","conversationId":12}} (or "unsubscribe") and
+ * then receive {@link ChatMessageEvent} frames for that conversation.
+ */
+@Component
+public class ChatWebSocketHandler extends TextWebSocketHandler {
+
+    private final ChatSubscriberRegistry registry;
+    private final ConversationRepository conversationRepository;
+    private final JsonMapper jsonMapper;
+
+    public ChatWebSocketHandler(
+            ChatSubscriberRegistry registry,
+            ConversationRepository conversationRepository,
+            JsonMapper jsonMapper) {
+        this.registry = registry;
+        this.conversationRepository = conversationRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        CurrentUser user = (CurrentUser) session.getAttributes().get(JwtHandshakeInterceptor.CURRENT_USER);
+        VerifiedToken token = (VerifiedToken) session.getAttributes().get(JwtHandshakeInterceptor.TOKEN);
+        registry.register(session, user.getId(), token);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        ChatSubscriber subscriber = registry.get(session);
+        if (subscriber == null || registry.closeIfExpired(subscriber)) {
+            return;
+        }
+
+        JsonNode command;
+        try {
+            command = jsonMapper.readTree(message.getPayload());
+        } catch (RuntimeException e) {
+            session.close(CloseStatus.BAD_DATA.withReason("Invalid JSON"));
+            return;
+        }
+
+        String action = command.path("action").asString("");
+        long conversationId = command.path("conversationId").asLong(-1);
+
+        switch (action) {
+            case "subscribe" -> {
+                if (conversationRepository.isParticipant(conversationId, subscriber.userId())) {
+                    registry.subscribe(subscriber, conversationId);
+                } else {
+                    session.close(CloseStatus.POLICY_VIOLATION.withReason("Not a participant"));
+                }
+            }
+            case "unsubscribe" -> registry.unsubscribe(subscriber, conversationId);
+            default -> session.close(CloseStatus.BAD_DATA.withReason("Unknown action"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        registry.unregister(session);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        registry.unregister(session);
+    }
+}
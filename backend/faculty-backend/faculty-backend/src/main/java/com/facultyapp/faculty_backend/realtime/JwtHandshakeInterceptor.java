@@ -0,0 +1,77 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import com.facultyapp.faculty_backend.security.JwtUtil;
+import com.facultyapp.faculty_backend.security.TokenAuthenticator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Authenticates the WebSocket upgrade with the same JWT the REST API uses.
+ * Browsers cannot set headers on a WebSocket, so {@code ?token=} is accepted
+ * alongside {@code Authorization: Bearer}. The verified token is kept on
+ * the session so later frames can re-check it (see ChatSubscriberRegistry).
+ */
+@Component
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String CURRENT_USER = "currentUser";
+    static final String TOKEN = "token";
+
+    private final TokenAuthenticator tokenAuthenticator;
+    private final JwtUtil jwtUtil;
+
+    public JwtHandshakeInterceptor(TokenAuthenticator tokenAuthenticator, JwtUtil jwtUtil) {
+        this.tokenAuthenticator = tokenAuthenticator;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public boolean beforeHandshake(
+            ServerHttpRequest request,
+            ServerHttpResponse response,
+            WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+
+        Optional<String> token = extractToken(request);
+        Optional<CurrentUser> user = token.flatMap(tokenAuthenticator::authenticate);
+
+        if (user.isEmpty()) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        attributes.put(CURRENT_USER, user.get());
+        attributes.put(TOKEN, jwtUtil.verify(token.get())); // cache hit: verified just above
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(
+            ServerHttpRequest request,
+            ServerHttpResponse response,
+            WebSocketHandler wsHandler,
+            Exception exception) {
+    }
+
+    private Optional<String> extractToken(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return Optional.of(header.substring(7));
+        }
+        return Optional.ofNullable(
+                UriComponentsBuilder.fromUri(request.getURI())
+                        .build()
+                        .getQueryParams()
+                        .getFirst("token"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.dto.NotificationResponse;
+
+/**
+ * Published when a notification is created (or a coalesced one bumped), by
+ * {@code NotificationService} and by the set-based writers
+ * ({@code BroadcastService}, {@code NotificationFanoutService}) for each
+ * row they write; pushed to the recipient's open notification streams.
+ * {@code userId} is null for broadcasts, which go to every stream except
+ * the sender's.
+ */
+public class NotificationEvent {
+
+    private final Long userId;
+    private final Long excludeUserId;
+    private final NotificationResponse notification;
+
+    public NotificationEvent(Long userId, Long excludeUserId, NotificationResponse notification) {
+        this.userId = userId;
+        this.excludeUserId = excludeUserId;
+        this.notification = notification;
+    }
+
+    public static NotificationEvent forUser(Long userId, NotificationResponse notification) {
+        return new NotificationEvent(userId, null, notification);
+    }
+
+    public static NotificationEvent forEveryoneBut(Long senderId, NotificationResponse notification) {
+        return new NotificationEvent(null, senderId, notification);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getExcludeUserId() {
+        return excludeUserId;
+    }
+
+    public NotificationResponse getNotification() {
+        return notification;
+    }
+}
@@ -0,0 +1,225 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.dto.MessageCursor;
+import com.facultyapp.faculty_backend.dto.NotificationResponse;
+import com.facultyapp.faculty_backend.service.NotificationService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process userId -> open notification streams (SSE), for live delivery
+ * of new notifications.
+ *
+ * Each event's id is the notification's feed cursor, so a client that
+ * reconnects with {@code Last-Event-ID} gets what it missed replayed from
+ * the DB. The stream is registered before the replay runs: a notification
+ * committed in between may arrive twice (clients upsert by notification
+ * id), but never not at all. A heartbeat keeps proxies from closing idle
+ * streams and flushes out dead ones; {@code timeout} bounds how long any
+ * one stream lives before the client reconnects.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    static final String NOTIFICATION = "notification";
+    // more than a replay can carry: the client reloads its feed instead
+    static final String RESET = "reset";
+
+    private static final int MAX_REPLAY = 100;
+
+    // user -> streams, oldest first; lists are short and rarely written
+    private final Map<Long, List<NotificationSubscriber>> byUser = new ConcurrentHashMap<>();
+
+    private final NotificationService notificationService;
+    private final JsonMapper jsonMapper;
+    private final Executor dispatcher;
+    private final long timeoutMillis;
+    private final int maxPerUser;
+    private final int queueCapacity;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    public NotificationStreamRegistry(
+            NotificationService notificationService,
+            JsonMapper jsonMapper,
+            @Qualifier("notificationStreamExecutor") Executor dispatcher,
+            @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.notifications.stream.max-per-user:5}") int maxPerUser,
+            @Value("${app.notifications.stream.queue-capacity:64}") int queueCapacity) {
+        this.notificationService = notificationService;
+        this.jsonMapper = jsonMapper;
+        this.dispatcher = dispatcher;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPerUser = maxPerUser;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // ================= CONNECTION LIFECYCLE =================
+
+    /**
+     * Opens a stream for {@code userId}. With {@code lastEventId} (the id of
+     * the last event the client saw), everything after it is replayed first.
+     */
+    public SseEmitter open(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        NotificationSubscriber subscriber = new NotificationSubscriber(emitter, userId, queueCapacity, dispatcher);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> unregister(subscriber));
+
+        register(subscriber);
+        opened.incrementAndGet();
+
+        // the response headers only go out with the first write
+        subscriber.enqueue(SseEmitter.event().comment("connected").build());
+
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            replay(subscriber, lastEventId);
+        }
+
+        return emitter;
+    }
+
+    private void register(NotificationSubscriber subscriber) {
+        List<NotificationSubscriber> evicted = new ArrayList<>();
+
+        // inside compute, so a concurrent unregister can't drop the list under us
+        byUser.compute(subscriber.userId(), (id, streams) -> {
+            List<NotificationSubscriber> list = streams != null ? streams : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            // a user with many tabs keeps the newest streams
+            while (list.size() > maxPerUser) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+
+        evicted.forEach(NotificationSubscriber::close);
+    }
+
+    private void unregister(NotificationSubscriber subscriber) {
+        byUser.computeIfPresent(subscriber.userId(), (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private void replay(NotificationSubscriber subscriber, String lastEventId) {
+        MessageCursor resumeFrom;
+        try {
+            resumeFrom = MessageCursor.decode(lastEventId);
+        } catch (RuntimeException e) {
+            // not one of our ids: can't tell what was missed
+            subscriber.enqueue(reset());
+            return;
+        }
+
+        List<NotificationResponse> missed =
+                notificationService.findSince(subscriber.userId(), resumeFrom, MAX_REPLAY + 1);
+
+        if (missed.size() > MAX_REPLAY) {
+            subscriber.enqueue(reset());
+            return;
+        }
+
+        missed.forEach(n -> subscriber.enqueue(frame(n)));
+        replayed.addAndGet(missed.size());
+    }
+
+    // ================= FAN-OUT =================
+
+    /**
+     * Runs after the creating transaction commits (or immediately when there
+     * is none), so clients never see a notification that was rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotification(NotificationEvent event) {
+        if (byUser.isEmpty()) {
+            return;
+        }
+
+        // serialise once, share the frame between all streams
+        Set<DataWithMediaType> frame = frame(event.getNotification());
+
+        if (event.getUserId() != null) {
+            List<NotificationSubscriber> streams = byUser.get(event.getUserId());
+            if (streams != null) {
+                streams.forEach(s -> s.enqueue(frame));
+                delivered.addAndGet(streams.size());
+            }
+            return;
+        }
+
+        byUser.forEach((userId, streams) -> {
+            if (!userId.equals(event.getExcludeUserId())) {
+                streams.forEach(s -> s.enqueue(frame));
+                delivered.addAndGet(streams.size());
+            }
+        });
+    }
+
+    private static Set<DataWithMediaType> reset() {
+        return SseEmitter.event().name(RESET).data("{}").build();
+    }
+
+    private Set<DataWithMediaType> frame(NotificationResponse n) {
+        return SseEmitter.event()
+                .id(new MessageCursor(n.getCreatedAt(), n.getId()).encode())
+                .name(NOTIFICATION)
+                .data(jsonMapper.writeValueAsString(n))
+                .build();
+    }
+
+    // ================= HEARTBEAT =================
+
+    /**
+     * A comment line on every stream: keeps idle connections open through
+     * proxies, and a write to a client that is gone fails and removes it.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (byUser.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+
+        byUser.values().forEach(streams -> streams.forEach(s -> {
+            if (s.isClosed()) {
+                unregister(s); // callbacks should have done this; never leak
+            } else {
+                s.enqueue(ping);
+            }
+        }));
+    }
+
+    // ================= STATS =================
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", byUser.size());
+        stats.put("streams", byUser.values().stream().mapToInt(List::size).sum());
+        stats.put("opened", opened.get());
+        stats.put("delivered", delivered.get());
+        stats.put("replayed", replayed.get());
+        return stats;
+    }
+}
@@ -0,0 +1,96 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open notification stream. Works like {@link ChatSubscriber}: events go
+ * through a bounded queue drained by at most one dispatcher thread at a
+ * time, and a client that falls {@code capacity} events behind is dropped.
+ * It reconnects with {@code Last-Event-ID} and the gap is replayed from the
+ * DB. While idle, a stream holds a socket and this object, not a thread.
+ */
+class NotificationSubscriber {
+
+    private final SseEmitter emitter;
+    private final Long userId;
+    private final Queue<Set<DataWithMediaType>> outbound;
+    private final Executor dispatcher;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    NotificationSubscriber(SseEmitter emitter, Long userId, int capacity, Executor dispatcher) {
+        this.emitter = emitter;
+        this.userId = userId;
+        this.outbound = new ArrayBlockingQueue<>(capacity);
+        this.dispatcher = dispatcher;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // frames are built once and shared between subscribers; never mutated
+    void enqueue(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return;
+        }
+        if (!outbound.offer(frame)) {
+            close();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    // completes the response; the emitter callbacks unregister us
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            outbound.clear();
+            emitter.complete();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Set<DataWithMediaType> frame;
+            while ((frame = outbound.poll()) != null && !closed.get()) {
+                emitter.send(frame);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away: the container reports it through onError (no
+            // completeWithError here, that races it); the heartbeat sweeps us
+            // up if it doesn't
+            closed.set(true);
+            outbound.clear();
+        } finally {
+            draining.set(false);
+            // a publisher may have enqueued after our last poll
+            if (!outbound.isEmpty() && !closed.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
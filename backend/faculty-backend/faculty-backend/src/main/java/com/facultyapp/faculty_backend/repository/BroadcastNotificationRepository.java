@@ -0,0 +1,7 @@
+package com.facultyapp.faculty_backend.repository;
+
+import com.facultyapp.faculty_backend.entity.BroadcastNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+}
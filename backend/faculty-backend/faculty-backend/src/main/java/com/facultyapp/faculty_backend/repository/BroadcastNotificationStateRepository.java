@@ -0,0 +1,45 @@
+package com.facultyapp.faculty_backend.repository;
+
+import com.facultyapp.faculty_backend.entity.BroadcastNotificationState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface BroadcastNotificationStateRepository
+        extends JpaRepository<BroadcastNotificationState, BroadcastNotificationState.Key> {
+
+    // first touch creates the user's row; both flags only ever turn on.
+    // Nothing to record once the user's broadcast read mark covers it.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO broadcast_notification_states (broadcast_id, user_id, read, dismissed, updated_at)
+            SELECT :broadcastId, :userId, true, false, now()
+            WHERE NOT EXISTS (
+                SELECT 1 FROM broadcast_read_marks m
+                JOIN broadcast_notifications b ON b.id = :broadcastId
+                WHERE m.user_id = :userId AND (b.created_at, b.id) <= (m.read_before_at, m.read_before_id)
+            )
+            ON CONFLICT (broadcast_id, user_id) DO UPDATE
+            SET read = true, updated_at = EXCLUDED.updated_at
+            WHERE NOT broadcast_notification_states.read
+            """, nativeQuery = true)
+    int markRead(
+            @Param("broadcastId") Long broadcastId,
+            @Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO broadcast_notification_states (broadcast_id, user_id, read, dismissed, updated_at)
+            VALUES (:broadcastId, :userId, false, true, now())
+            ON CONFLICT (broadcast_id, user_id) DO UPDATE
+            SET dismissed = true, updated_at = EXCLUDED.updated_at
+            WHERE NOT broadcast_notification_states.dismissed
+            """, nativeQuery = true)
+    int dismiss(
+            @Param("broadcastId") Long broadcastId,
+            @Param("userId") Long userId);
+}
@@ -0,0 +1,40 @@
+package com.facultyapp.faculty_backend.repository;
+
+import com.facultyapp.faculty_backend.entity.ConversationRead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ConversationReadRepository
+        extends JpaRepository<ConversationRead, ConversationRead.Key> {
+
+    /**
+     * Monotonic upsert of a read mark, compared row-wise on (created_at, id).
+     * An older (stale) mark from another device fails the WHERE guard and
+     * leaves the row untouched; nothing else is locked, in particular not
+     * the conversation row.
+     *
+     * @return 1 if the mark moved forward (or was created), 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO conversation_reads (conversation_id, user_id, last_read_message_id, last_read_at, updated_at)
+            VALUES (:conversationId, :userId, :messageId, :createdAt, now())
+            ON CONFLICT (conversation_id, user_id) DO UPDATE
+            SET last_read_message_id = EXCLUDED.last_read_message_id,
+                last_read_at = EXCLUDED.last_read_at,
+                updated_at = EXCLUDED.updated_at
+            WHERE (conversation_reads.last_read_at, conversation_reads.last_read_message_id)
+                < (EXCLUDED.last_read_at, EXCLUDED.last_read_message_id)
+            """, nativeQuery = true)
+    int advance(
+            @Param("conversationId") Long conversationId,
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("messageId") Long messageId);
+}
@@ -1,14 +1,117 @@
 package com.facultyapp.faculty_backend.repository;
 
+import com.facultyapp.faculty_backend.dto.ConversationResponse;
+import com.facultyapp.faculty_backend.dto.MessageCursor;
 import com.facultyapp.faculty_backend.entity.Conversation;
-import com.facultyapp.faculty_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
 
-    Optional<Conversation> findByUser1AndUser2(User u1, User u2);
+    // pairs are stored canonically (user1_id < user2_id); served by uk_conversations_pair
+    @Query("""
+            select c.id from Conversation c
+            where c.user1.id = :low and c.user2.id = :high
+            """)
+    Optional<Long> findIdByPair(@Param("low") Long low, @Param("high") Long high);
 
-    Optional<Conversation> findByUser2AndUser1(User u2, User u1);
+    /**
+     * Creates the conversation for a canonical pair unless one already
+     * exists. The unique index turns a concurrent create into a no-op
+     * instead of a duplicate row.
+     *
+     * @return 1 if a row was inserted, 0 if the pair already existed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO conversations (id, user1_id, user2_id, created_at)
+            VALUES (nextval('conversations_seq'), :low, :high, now())
+            ON CONFLICT (user1_id, user2_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("low") Long low, @Param("high") Long high);
+
+    // ================= INBOX =================
+
+    /**
+     * The caller's conversations, newest activity first, each with the other
+     * participant, a preview of the last message and the caller's unread
+     * count. One statement: the preview comes from the denormalised
+     * {@code last_message_id}, and unread is a range count of the other
+     * side's messages after the caller's (created_at, id) read mark.
+     */
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.ConversationResponse(
+                c.id,
+                case when u1.id = :userId then u2.id else u1.id end,
+                case when u1.id = :userId then u2.email else u1.email end,
+                m.id,
+                m.sender.id,
+                substring(m.content, 1, 120),
+                c.lastMessageAt,
+                (select count(x) from Message x
+                 where x.conversation.id = c.id
+                   and (r.userId is null or (x.createdAt, x.id) > (r.lastReadAt, r.lastReadMessageId))
+                   and x.sender.id <> :userId))
+            from Conversation c
+            join c.user1 u1
+            join c.user2 u2
+            left join Message m on m.id = c.lastMessageId
+            left join ConversationRead r on r.conversationId = c.id and r.userId = :userId
+            where u1.id = :userId or u2.id = :userId
+            order by c.lastMessageAt desc nulls last, c.id desc
+            """)
+    List<ConversationResponse> findInbox(@Param("userId") Long userId);
+
+    // ================= LAST MESSAGE POINTER =================
+
+    // only ever moves forward in (createdAt, id) order, so racing sends can't rewind it
+    @Modifying
+    @Transactional
+    @Query("""
+            update Conversation c
+            set c.lastMessageId = :messageId, c.lastMessageAt = :createdAt
+            where c.id = :id
+              and (c.lastMessageAt is null
+                   or c.lastMessageAt < :createdAt
+                   or (c.lastMessageAt = :createdAt and c.lastMessageId < :messageId))
+            """)
+    int advanceLastMessage(
+            @Param("id") Long id,
+            @Param("messageId") Long messageId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.MessageCursor(c.lastMessageAt, c.lastMessageId)
+            from Conversation c
+            where c.id = :id and c.lastMessageId is not null
+            """)
+    Optional<MessageCursor> findLastMessagePosition(@Param("id") Long id);
+
+    // after deleting the newest message; no-op if a newer one arrived meanwhile
+    @Modifying
+    @Transactional
+    @Query("""
+            update Conversation c
+            set c.lastMessageId = :messageId, c.lastMessageAt = :createdAt
+            where c.id = :id and c.lastMessageId = :deletedId
+            """)
+    int replaceLastMessage(
+            @Param("id") Long id,
+            @Param("deletedId") Long deletedId,
+            @Param("messageId") Long messageId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("""
+            select count(c) > 0 from Conversation c
+            where c.id = :id and (c.user1.id = :userId or c.user2.id = :userId)
+            """)
+    boolean isParticipant(@Param("id") Long id, @Param("userId") Long userId);
 }
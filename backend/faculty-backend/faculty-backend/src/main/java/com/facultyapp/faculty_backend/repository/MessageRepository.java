@@ -1,12 +1,146 @@
 package com.facultyapp.faculty_backend.repository;
 
+import com.facultyapp.faculty_backend.dto.MessageCursor;
+import com.facultyapp.faculty_backend.dto.MessageResponse;
 import com.facultyapp.faculty_backend.entity.Message;
-import com.facultyapp.faculty_backend.entity.Conversation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    List<Message> findByConversationOrderByCreatedAtAsc(Conversation conversation);
+    // a message's (createdAt, id) position, if it belongs to the conversation
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.MessageCursor(m.createdAt, m.id)
+            from Message m
+            where m.id = :id and m.conversation.id = :conversationId
+            """)
+    Optional<MessageCursor> findPosition(
+            @Param("conversationId") Long conversationId,
+            @Param("id") Long id);
+
+    // ================= KEYSET PAGES =================
+    // row-value comparisons so all three are a single range scan
+    // over idx_messages_conversation_created_id_sender; rows come back as
+    // MessageResponse directly (one join to users, no entity graph)
+
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.MessageResponse(
+                m.id, s.id, s.email, m.content, m.edited, m.createdAt)
+            from Message m
+            join m.sender s
+            where m.conversation.id = :conversationId
+            order by m.createdAt desc, m.id desc
+            """)
+    List<MessageResponse> findLatest(
+            @Param("conversationId") Long conversationId,
+            Pageable page);
+
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.MessageResponse(
+                m.id, s.id, s.email, m.content, m.edited, m.createdAt)
+            from Message m
+            join m.sender s
+            where m.conversation.id = :conversationId
+              and (m.createdAt, m.id) < (:createdAt, :id)
+            order by m.createdAt desc, m.id desc
+            """)
+    List<MessageResponse> findBefore(
+            @Param("conversationId") Long conversationId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable page);
+
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.MessageResponse(
+                m.id, s.id, s.email, m.content, m.edited, m.createdAt)
+            from Message m
+            join m.sender s
+            where m.conversation.id = :conversationId
+              and (m.createdAt, m.id) > (:createdAt, :id)
+            order by m.createdAt asc, m.id asc
+            """)
+    List<MessageResponse> findAfter(
+            @Param("conversationId") Long conversationId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable page);
+
+    // ================= FULL-TEXT SEARCH =================
+
+    // one ranked, limited branch per table; SEARCH_HOT and SEARCH_ARCHIVE end where the conversation scope goes
+    String SEARCH_HOT = """
+            SELECT h.id, h.conversation_id, h.sender_id, u.email, h.content, h.edited, h.created_at, h.rank
+            FROM (
+                (SELECT m.id, m.conversation_id, m.sender_id, m.content, m.edited, m.created_at, r.rank
+                 FROM messages m
+                 CROSS JOIN LATERAL (
+                     SELECT ts_rank(m.content_tsv, websearch_to_tsquery('english', :query)) AS rank
+                 ) r
+                 WHERE m.content_tsv @@ websearch_to_tsquery('english', :query)
+                   AND (r.rank, m.id) < (:rank, :id)
+                   AND m.conversation_id""";
+
+    String SEARCH_ARCHIVE = """
+
+                 ORDER BY r.rank DESC, m.id DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT a.id, a.conversation_id, a.sender_id, a.content, a.edited, a.created_at, r.rank
+                 FROM messages_archive a
+                 CROSS JOIN LATERAL (
+                     SELECT ts_rank(a.content_tsv, websearch_to_tsquery('english', :query)) AS rank
+                 ) r
+                 WHERE a.content_tsv @@ websearch_to_tsquery('english', :query)
+                   AND (r.rank, a.id) < (:rank, :id)
+                   AND a.conversation_id""";
+
+    String SEARCH_END = """
+
+                 ORDER BY r.rank DESC, a.id DESC
+                 LIMIT :limit)
+            ) h
+            JOIN users u ON u.id = h.sender_id
+            ORDER BY h.rank DESC, h.id DESC
+            LIMIT :limit
+            """;
+
+    // in SQL, not a bound id list: after a broadcast the admin is in one conversation per faculty member
+    String PARTICIPANT_SCOPE = " IN (SELECT c.id FROM conversations c WHERE c.user1_id = :userId OR c.user2_id = :userId)";
+
+    /**
+     * One ranked keyset page of matches for {@code query}, best first, over
+     * the hot table and the archive alike, in every conversation
+     * {@code userId} takes part in. Uses the generated {@code content_tsv}
+     * column and GIN index each of them has (see db/postgres-schema.sql),
+     * which PostgreSQL keeps in step with every insert, update and delete of
+     * a message. Ids are unique across both, so the (rank, id) cursor works
+     * unchanged.
+     *
+     * Columns: id, conversation_id, sender_id, sender email, content,
+     * edited, created_at, rank.
+     */
+    @Query(value = SEARCH_HOT + PARTICIPANT_SCOPE + SEARCH_ARCHIVE + PARTICIPANT_SCOPE + SEARCH_END,
+            nativeQuery = true)
+    List<Object[]> search(
+            @Param("query") String query,
+            @Param("userId") Long userId,
+            @Param("rank") float rank,
+            @Param("id") Long id,
+            @Param("limit") int limit);
+
+    // same as search, within one conversation the caller was checked to be in
+    @Query(value = SEARCH_HOT + " = :conversationId" + SEARCH_ARCHIVE + " = :conversationId" + SEARCH_END,
+            nativeQuery = true)
+    List<Object[]> searchConversation(
+            @Param("query") String query,
+            @Param("conversationId") Long conversationId,
+            @Param("rank") float rank,
+            @Param("id") Long id,
+            @Param("limit") int limit);
 }
@@ -0,0 +1,49 @@
+package com.facultyapp.faculty_backend.repository;
+
+import com.facultyapp.faculty_backend.entity.NotificationCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface NotificationCounterRepository
+        extends JpaRepository<NotificationCounter, NotificationCounter.Key> {
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_counters (user_id, category, unread)
+            VALUES (:userId, :category, 1)
+            ON CONFLICT (user_id, category) DO UPDATE
+            SET unread = notification_counters.unread + 1
+            """, nativeQuery = true)
+    int increment(
+            @Param("userId") Long userId,
+            @Param("category") String category);
+
+    /**
+     * (category, unread) rows for the badge: the user's personal counters
+     * (primary-key lookup) plus unread broadcasts, counted per category.
+     * Broadcasts are stored once, so they are counted here rather than kept
+     * in per-user counters; that scan is over broadcasts, not notifications,
+     * and starts after the user's broadcast read mark.
+     */
+    @Query(value = """
+            SELECT c.category, c.unread
+            FROM notification_counters c
+            WHERE c.user_id = :userId AND c.unread > 0
+            UNION ALL
+            SELECT b.category, COUNT(*)
+            FROM broadcast_notifications b
+            LEFT JOIN broadcast_notification_states s ON s.broadcast_id = b.id AND s.user_id = :userId
+            LEFT JOIN broadcast_read_marks m ON m.user_id = :userId
+            WHERE (b.sender_id IS NULL OR b.sender_id <> :userId)
+              AND (s.broadcast_id IS NULL OR (s.read = false AND s.dismissed = false))
+              AND (m.user_id IS NULL OR (b.created_at, b.id) > (m.read_before_at, m.read_before_id))
+            GROUP BY b.category
+            """, nativeQuery = true)
+    List<Object[]> findUnread(@Param("userId") Long userId);
+}
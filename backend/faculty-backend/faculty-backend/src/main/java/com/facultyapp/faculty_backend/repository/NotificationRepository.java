@@ -1,14 +1,318 @@
 package com.facultyapp.faculty_backend.repository;
 
 import com.facultyapp.faculty_backend.entity.Notification;
-import com.facultyapp.faculty_backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
+    // ================= CHAT (coalescing) =================
 
-    List<Notification> findByUserAndReadFalse(User user);
+    /**
+     * One chat notification per unread conversation: inserts a fresh one, or,
+     * while the user still has an unread one for the conversation, bumps its
+     * count and timestamp instead. A private conversation has one other
+     * participant, so (user, conversation) also fixes the sender. Atomic via
+     * the partial unique index {@code uk_notifications_unread_conversation}
+     * (db/postgres-schema.sql); the unread counter only moves on insert.
+     * Returns the row as (id, repeat_count, created_at).
+     */
+    @Transactional
+    @Query(value = """
+            WITH upserted AS (
+                INSERT INTO notifications (id, user_id, conversation_id, category, type, message, context, read, muted, repeat_count, created_at)
+                VALUES (nextval('notifications_seq'), :userId, :conversationId, :category, 'new_message', :message, :context, false, false, 1, :createdAt)
+                ON CONFLICT (user_id, conversation_id) WHERE type = 'new_message' AND read = false
+                DO UPDATE SET repeat_count = notifications.repeat_count + 1,
+                              message = EXCLUDED.message,
+                              created_at = GREATEST(notifications.created_at, EXCLUDED.created_at)
+                RETURNING id, repeat_count, created_at, (xmax = 0) AS inserted
+            ), counted AS (
+                INSERT INTO notification_counters (user_id, category, unread)
+                SELECT :userId, :category, 1 FROM upserted WHERE inserted
+                ON CONFLICT (user_id, category) DO UPDATE SET unread = notification_counters.unread + 1
+            )
+            SELECT id, repeat_count, created_at FROM upserted
+            """, nativeQuery = true)
+    List<Object[]> upsertForConversation(
+            @Param("userId") Long userId,
+            @Param("conversationId") Long conversationId,
+            @Param("category") String category,
+            @Param("message") String message,
+            @Param("context") String context,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    // ================= READ / DELETE (counter-maintaining) =================
+    // each is one statement that changes notifications and notification_counters
+    // together; RETURNING only yields rows this statement actually changed, so
+    // racing calls never decrement twice
+
+    // chat notifications become read along with the conversation itself
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH changed AS (
+                UPDATE notifications SET read = true
+                WHERE user_id = :userId AND conversation_id = :conversationId AND read = false
+                RETURNING category
+            )
+            UPDATE notification_counters c SET unread = GREATEST(c.unread - x.n, 0)
+            FROM (SELECT category, COUNT(*) AS n FROM changed GROUP BY category) x
+            WHERE c.user_id = :userId AND c.category = x.category
+            """, nativeQuery = true)
+    int markConversationRead(
+            @Param("userId") Long userId,
+            @Param("conversationId") Long conversationId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH changed AS (
+                UPDATE notifications SET read = true
+                WHERE id = :id AND read = false
+                RETURNING user_id, category
+            )
+            UPDATE notification_counters c SET unread = GREATEST(c.unread - 1, 0)
+            FROM changed
+            WHERE c.user_id = changed.user_id AND c.category = changed.category
+            """, nativeQuery = true)
+    int markRead(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH gone AS (
+                DELETE FROM notifications WHERE id = :id
+                RETURNING user_id, category, read
+            )
+            UPDATE notification_counters c SET unread = GREATEST(c.unread - 1, 0)
+            FROM gone
+            WHERE NOT gone.read AND c.user_id = gone.user_id AND c.category = gone.category
+            """, nativeQuery = true)
+    int deleteCounted(@Param("id") Long id);
+
+    // ================= BULK (counter-maintaining) =================
+    // Selectors are ANDed; a null selector matches everything. Each runs as one
+    // statement scoped to the caller: personal rows are changed in place (and
+    // their counters adjusted), matching broadcasts get the caller's sparse
+    // state row (none once their broadcast read mark covers it), or for a plain
+    // "read all" just move that mark. The result is how many notifications
+    // actually changed.
+
+    @Transactional
+    @Query(value = """
+            WITH changed AS (
+                UPDATE notifications SET read = true
+                WHERE user_id = :userId AND read = false
+                  AND (:allIds = true OR id IN (:ids))
+                  AND (CAST(:category AS varchar) IS NULL OR category = :category)
+                  AND (CAST(:before AS timestamp) IS NULL OR created_at <= :before)
+                RETURNING category
+            ), counted AS (
+                UPDATE notification_counters c SET unread = GREATEST(c.unread - x.n, 0)
+                FROM (SELECT category, COUNT(*) AS n FROM changed GROUP BY category) x
+                WHERE c.user_id = :userId AND c.category = x.category
+            ), broadcasts AS (
+                INSERT INTO broadcast_notification_states (broadcast_id, user_id, read, dismissed, updated_at)
+                SELECT b.id, :userId, true, false, now()
+                FROM broadcast_notifications b
+                LEFT JOIN broadcast_read_marks m ON m.user_id = :userId
+                WHERE (b.sender_id IS NULL OR b.sender_id <> :userId)
+                  AND (m.user_id IS NULL OR (b.created_at, b.id) > (m.read_before_at, m.read_before_id))
+                  AND (:allIds = true OR b.id IN (:ids))
+                  AND (CAST(:category AS varchar) IS NULL OR b.category = :category)
+                  AND (CAST(:before AS timestamp) IS NULL OR b.created_at <= :before)
+                ON CONFLICT (broadcast_id, user_id) DO UPDATE
+                SET read = true, updated_at = EXCLUDED.updated_at
+                WHERE NOT broadcast_notification_states.read AND NOT broadcast_notification_states.dismissed
+                RETURNING broadcast_id
+            )
+            SELECT (SELECT COUNT(*) FROM changed) + (SELECT COUNT(*) FROM broadcasts)
+            """, nativeQuery = true)
+    long markAllRead(
+            @Param("userId") Long userId,
+            @Param("allIds") boolean allIds,
+            @Param("ids") Collection<Long> ids,
+            @Param("category") String category,
+            @Param("before") LocalDateTime before);
+
+    /**
+     * {@link #markAllRead} with only {@code before} (inclusive, null = all):
+     * broadcasts are covered by moving the caller's read mark up to the
+     * newest one in range, whatever their number, and the read state rows
+     * it now covers are dropped. Concurrent calls serialize on the mark row,
+     * and one that would move it backwards changes nothing.
+     */
+    @Transactional
+    @Query(value = """
+            WITH changed AS (
+                UPDATE notifications SET read = true
+                WHERE user_id = :userId AND read = false
+                  AND (CAST(:before AS timestamp) IS NULL OR created_at <= :before)
+                RETURNING category
+            ), counted AS (
+                UPDATE notification_counters c SET unread = GREATEST(c.unread - x.n, 0)
+                FROM (SELECT category, COUNT(*) AS n FROM changed GROUP BY category) x
+                WHERE c.user_id = :userId AND c.category = x.category
+            ), previous AS (
+                SELECT read_before_at, read_before_id FROM broadcast_read_marks WHERE user_id = :userId
+            ), newest AS (
+                SELECT created_at, id FROM broadcast_notifications
+                WHERE CAST(:before AS timestamp) IS NULL OR created_at <= :before
+                ORDER BY created_at DESC, id DESC
+                LIMIT 1
+            ), marked AS (
+                INSERT INTO broadcast_read_marks (user_id, read_before_at, read_before_id, updated_at)
+                SELECT :userId, created_at, id, now() FROM newest
+                ON CONFLICT (user_id) DO UPDATE
+                SET read_before_at = EXCLUDED.read_before_at,
+                    read_before_id = EXCLUDED.read_before_id,
+                    updated_at = EXCLUDED.updated_at
+                WHERE (EXCLUDED.read_before_at, EXCLUDED.read_before_id)
+                    > (broadcast_read_marks.read_before_at, broadcast_read_marks.read_before_id)
+                RETURNING read_before_at, read_before_id
+            ), broadcasts AS (
+                SELECT b.id
+                FROM broadcast_notifications b
+                JOIN marked m ON (b.created_at, b.id) <= (m.read_before_at, m.read_before_id)
+                LEFT JOIN broadcast_notification_states s ON s.broadcast_id = b.id AND s.user_id = :userId
+                WHERE (b.sender_id IS NULL OR b.sender_id <> :userId)
+                  AND NOT EXISTS (SELECT 1 FROM previous p WHERE (b.created_at, b.id) <= (p.read_before_at, p.read_before_id))
+                  AND (s.broadcast_id IS NULL OR (NOT s.read AND NOT s.dismissed))
+            ), pruned AS (
+                -- dismissals stay: the mark only covers reading
+                DELETE FROM broadcast_notification_states s
+                USING marked m, broadcast_notifications b
+                WHERE s.user_id = :userId AND s.broadcast_id = b.id AND s.read AND NOT s.dismissed
+                  AND (b.created_at, b.id) <= (m.read_before_at, m.read_before_id)
+            )
+            SELECT (SELECT COUNT(*) FROM changed) + (SELECT COUNT(*) FROM broadcasts)
+            """, nativeQuery = true)
+    long markAllReadBefore(
+            @Param("userId") Long userId,
+            @Param("before") LocalDateTime before);
+
+    @Transactional
+    @Query(value = """
+            WITH gone AS (
+                DELETE FROM notifications
+                WHERE user_id = :userId
+                  AND (:allIds = true OR id IN (:ids))
+                  AND (CAST(:category AS varchar) IS NULL OR category = :category)
+                  AND (CAST(:before AS timestamp) IS NULL OR created_at <= :before)
+                RETURNING category, read
+            ), counted AS (
+                UPDATE notification_counters c SET unread = GREATEST(c.unread - x.n, 0)
+                FROM (SELECT category, COUNT(*) AS n FROM gone WHERE NOT read GROUP BY category) x
+                WHERE c.user_id = :userId AND c.category = x.category
+            ), broadcasts AS (
+                INSERT INTO broadcast_notification_states (broadcast_id, user_id, read, dismissed, updated_at)
+                SELECT b.id, :userId, false, true, now()
+                FROM broadcast_notifications b
+                WHERE (b.sender_id IS NULL OR b.sender_id <> :userId)
+                  AND (:allIds = true OR b.id IN (:ids))
+                  AND (CAST(:category AS varchar) IS NULL OR b.category = :category)
+                  AND (CAST(:before AS timestamp) IS NULL OR b.created_at <= :before)
+                ON CONFLICT (broadcast_id, user_id) DO UPDATE
+                SET dismissed = true, updated_at = EXCLUDED.updated_at
+                WHERE NOT broadcast_notification_states.dismissed
+                RETURNING broadcast_id
+            )
+            SELECT (SELECT COUNT(*) FROM gone) + (SELECT COUNT(*) FROM broadcasts)
+            """, nativeQuery = true)
+    long deleteAll(
+            @Param("userId") Long userId,
+            @Param("allIds") boolean allIds,
+            @Param("ids") Collection<Long> ids,
+            @Param("category") String category,
+            @Param("before") LocalDateTime before);
+
+    // ================= FEED =================
+
+    /**
+     * One keyset page of the user's feed, newest first: personal
+     * notifications merged with every broadcast they haven't dismissed.
+     * Each branch walks its own (created_at, id) index from the cursor and
+     * stops after {@code limit} rows, so the cost of a page doesn't depend
+     * on how much history is behind it. Columns match
+     * {@code NotificationResponse}; broadcasts take their read flag from the
+     * user's sparse state row, if any, or their broadcast read mark.
+     */
+    @Query(value = """
+            (SELECT n.id, false AS broadcast, n.category, n.type, n.message, n.context,
+                    n.conversation_id, n.read, n.muted, n.repeat_count, n.created_at
+             FROM notifications n
+             WHERE n.user_id = :userId
+               AND (n.created_at, n.id) < (:createdAt, :id)
+               AND (CAST(:category AS varchar) IS NULL OR n.category = :category)
+               AND (:unreadOnly = false OR n.read = false)
+             ORDER BY n.created_at DESC, n.id DESC
+             LIMIT :limit)
+            UNION ALL
+            (SELECT b.id, true, b.category, b.type, b.message, b.context,
+                    NULL, COALESCE(s.read, false) OR COALESCE((b.created_at, b.id) <= (m.read_before_at, m.read_before_id), false),
+                    false, 1, b.created_at
+             FROM broadcast_notifications b
+             LEFT JOIN broadcast_notification_states s ON s.broadcast_id = b.id AND s.user_id = :userId
+             LEFT JOIN broadcast_read_marks m ON m.user_id = :userId
+             WHERE (b.sender_id IS NULL OR b.sender_id <> :userId)
+               AND (s.dismissed IS NULL OR s.dismissed = false)
+               AND (b.created_at, b.id) < (:createdAt, :id)
+               AND (CAST(:category AS varchar) IS NULL OR b.category = :category)
+               AND (:unreadOnly = false OR s.read IS NULL OR s.read = false)
+               AND (:unreadOnly = false OR m.user_id IS NULL OR (b.created_at, b.id) > (m.read_before_at, m.read_before_id))
+             ORDER BY b.created_at DESC, b.id DESC
+             LIMIT :limit)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findPage(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("category") String category,
+            @Param("unreadOnly") boolean unreadOnly,
+            @Param("limit") int limit);
+
+    /**
+     * Everything that reached the user's feed after (createdAt, id), oldest
+     * first: the replay for a notification stream resuming from
+     * {@code Last-Event-ID}. Same columns and indexes as {@link #findPage},
+     * walked forwards. Coalesced notifications reappear here once bumped.
+     */
+    @Query(value = """
+            (SELECT n.id, false AS broadcast, n.category, n.type, n.message, n.context,
+                    n.conversation_id, n.read, n.muted, n.repeat_count, n.created_at
+             FROM notifications n
+             WHERE n.user_id = :userId
+               AND (n.created_at, n.id) > (:createdAt, :id)
+             ORDER BY n.created_at, n.id
+             LIMIT :limit)
+            UNION ALL
+            (SELECT b.id, true, b.category, b.type, b.message, b.context,
+                    NULL, COALESCE(s.read, false) OR COALESCE((b.created_at, b.id) <= (m.read_before_at, m.read_before_id), false),
+                    false, 1, b.created_at
+             FROM broadcast_notifications b
+             LEFT JOIN broadcast_notification_states s ON s.broadcast_id = b.id AND s.user_id = :userId
+             LEFT JOIN broadcast_read_marks m ON m.user_id = :userId
+             WHERE (b.sender_id IS NULL OR b.sender_id <> :userId)
+               AND (s.dismissed IS NULL OR s.dismissed = false)
+               AND (b.created_at, b.id) > (:createdAt, :id)
+             ORDER BY b.created_at, b.id
+             LIMIT :limit)
+            ORDER BY created_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findAfter(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            @Param("limit") int limit);
 }
@@ -1,8 +1,13 @@
 package com.facultyapp.faculty_backend.repository;
 
+import com.facultyapp.faculty_backend.dto.LoginCandidate;
 import com.facultyapp.faculty_backend.entity.User;
 import com.facultyapp.faculty_backend.entity.Role; // ✅ ADD THIS
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List; // ✅ ADD THIS
 import java.util.Optional;
@@ -16,4 +21,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByResetToken(String resetToken);
 
     List<User> findByRole(Role role);
+
+    // 🔹 Login: user + faculty status in one round trip
+    @Query("""
+            select new com.facultyapp.faculty_backend.dto.LoginCandidate(
+                u.id, u.email, u.password, u.role, u.enabled, u.tokenVersion, f.status)
+            from User u
+            left join Faculty f on f.user = u
+            where u.email = :email
+            """)
+    Optional<LoginCandidate> findLoginCandidate(@Param("email") String email);
+
+    // 🔹 Transparent rehash; no-op if the password changed in the meantime
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int replacePasswordHash(
+            @Param("id") Long id,
+            @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash);
+
+    // 🔹 Revokes every token issued to this user so far
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
 }
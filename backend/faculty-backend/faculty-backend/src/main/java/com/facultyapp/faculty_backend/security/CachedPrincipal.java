@@ -0,0 +1,68 @@
+package com.facultyapp.faculty_backend.security;
+
+import com.facultyapp.faculty_backend.entity.Role;
+import com.facultyapp.faculty_backend.entity.User;
+
+/**
+ * Immutable snapshot of the fields of a {@link User} needed to authenticate a
+ * request. Held by {@link PrincipalCache} instead of the entity itself so that
+ * nothing downstream can mutate (or erase the credentials of) a cached value.
+ */
+public final class CachedPrincipal {
+
+    private final Long id;
+    private final String email;
+    private final String passwordHash;
+    private final Role role;
+    private final boolean enabled;
+    private final int tokenVersion;
+
+    public CachedPrincipal(
+            Long id,
+            String email,
+            String passwordHash,
+            Role role,
+            boolean enabled,
+            int tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.enabled = enabled;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public static CachedPrincipal of(User user) {
+        return new CachedPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                user.isEnabled(),
+                user.getTokenVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
@@ -0,0 +1,54 @@
+package com.facultyapp.faculty_backend.security;
+
+import com.facultyapp.faculty_backend.entity.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The authenticated caller, built by {@link JwtFilter} from the token claims.
+ * Controllers receive it as a method argument (see
+ * {@link CurrentUserArgumentResolver}) instead of re-loading the {@code User}
+ * entity by email.
+ *
+ * Not a {@code java.security.Principal}: Spring MVC resolves parameters of
+ * that type itself, ahead of custom resolvers, and would hand controllers
+ * the Authentication instead.
+ */
+public final class CurrentUser implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+
+    public CurrentUser(Long id, String email, Role role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    // Authentication.getName() resolves to this
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "CurrentUser[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
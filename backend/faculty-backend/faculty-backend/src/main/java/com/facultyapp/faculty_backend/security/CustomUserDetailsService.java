@@ -1,38 +1,49 @@
 package com.facultyapp.faculty_backend.security;
 
-import com.facultyapp.faculty_backend.entity.User;
 import com.facultyapp.faculty_backend.repository.UserRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class CustomUserDetailsService
         implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        User user = userRepository.findByEmail(email)
+        CachedPrincipal principal = loadPrincipal(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        // fresh instance per call: Spring erases credentials on the returned object
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                user.isEnabled(),
+                principal.getEmail(),
+                principal.getPasswordHash(),
+                principal.isEnabled(),
                 true,
                 true,
                 true,
                 List.of(new SimpleGrantedAuthority(
-                        "ROLE_" + user.getRole().name())));
+                        "ROLE_" + principal.getRole().name())));
+    }
+
+    public Optional<CachedPrincipal> loadPrincipal(String email) {
+        return principalCache.getOrLoad(
+                email,
+                key -> userRepository.findByEmail(key).map(CachedPrincipal::of));
     }
 }
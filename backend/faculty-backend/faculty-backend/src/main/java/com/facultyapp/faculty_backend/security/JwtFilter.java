@@ -5,23 +5,24 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private static final String STREAM_PATH = "/notifications/stream";
 
-    public JwtFilter(JwtUtil jwtUtil,
-            CustomUserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    private final TokenAuthenticator tokenAuthenticator;
+
+    public JwtFilter(TokenAuthenticator tokenAuthenticator) {
+        this.tokenAuthenticator = tokenAuthenticator;
     }
 
     /**
@@ -46,22 +47,17 @@ public class JwtFilter extends OncePerRequestFilter {
             FilterChain filterChain)
             throws ServletException, IOException {
 
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        String token = extractToken(request);
 
-            String token = authHeader.substring(7);
+        if (token != null) {
 
-            if (jwtUtil.validateToken(token)) {
-
-                String email = jwtUtil.extractEmail(token);
-
-                var userDetails = userDetailsService.loadUserByUsername(email);
+            tokenAuthenticator.authenticate(token).ifPresent(currentUser -> {
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        currentUser,
                         null,
-                        userDetails.getAuthorities());
+                        List.of(new SimpleGrantedAuthority(
+                                "ROLE_" + currentUser.getRole().name())));
 
                 authentication.setDetails(
                         new WebAuthenticationDetailsSource()
@@ -69,9 +65,25 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext()
                         .setAuthentication(authentication);
-            }
+            });
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * {@code Authorization: Bearer} everywhere; {@code ?token=} only on the
+     * notification stream, because EventSource cannot set headers. Kept to
+     * that one path so tokens don't end up in URLs (and logs) elsewhere.
+     */
+    private static String extractToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (STREAM_PATH.equals(request.getServletPath())) {
+            return request.getParameter("token");
+        }
+        return null;
+    }
 }
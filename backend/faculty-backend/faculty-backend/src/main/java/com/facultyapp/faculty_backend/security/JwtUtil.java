@@ -6,7 +6,16 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class JwtUtil {
@@ -15,43 +24,121 @@ public class JwtUtil {
 
     private static final long EXPIRATION = 24 * 60 * 60 * 1000;
 
+    // upper bound on remembered tokens; each entry is ~one small claims map
+    private static final int VERIFIED_CACHE_MAX_SIZE = 10_000;
+
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
+    // JwtParser is immutable and thread-safe, so build it exactly once
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // token digest -> already verified claims (valid until the token's own expiry)
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     // =====================
     // GENERATE TOKEN
     // =====================
-    public String generateToken(String email, String role) {
+    public String generateToken(Long userId, String email, String role, int tokenVersion) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
+                .claim("uid", userId)
                 .claim("role", role)
+                .claim("ver", tokenVersion)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // =====================
+    // VERIFY TOKEN
+    // =====================
+
+    /**
+     * Checks signature and expiry once and returns an immutable view of the
+     * claims. Recently verified tokens are remembered by digest, so repeat
+     * calls with the same token skip the HMAC and JSON parsing entirely.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+            verified.remove(digest);
+        }
+
+        cacheMisses.incrementAndGet();
+
+        VerifiedToken fresh = new VerifiedToken(parser.parseClaimsJws(token).getBody());
+        remember(digest, fresh, now);
+        return fresh;
+    }
+
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return verify(token).getRole();
     }
 
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
+            verify(token);
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Map<String, Long> cacheStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("size", (long) verified.size());
+        stats.put("maxSize", (long) VERIFIED_CACHE_MAX_SIZE);
+        stats.put("hits", cacheHits.get());
+        stats.put("misses", cacheMisses.get());
+        return stats;
+    }
+
+    // =====================
+    // INTERNAL
+    // =====================
+    // when full: drop expired tokens, then trim to 90% so the O(n) sweep
+    // is paid once per ~1,000 misses rather than on every one (as PrincipalCache)
+    private void remember(String digest, VerifiedToken token, long now) {
+        if (verified.size() >= VERIFIED_CACHE_MAX_SIZE) {
+            verified.values().removeIf(t -> t.isExpired(now));
+
+            int target = (int) (VERIFIED_CACHE_MAX_SIZE * 0.9);
+            Iterator<String> it = verified.keySet().iterator();
+            while (verified.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        verified.put(digest, token);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
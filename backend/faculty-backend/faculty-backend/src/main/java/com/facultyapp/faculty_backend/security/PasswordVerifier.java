@@ -0,0 +1,85 @@
+package com.facultyapp.faculty_backend.security;
+
+import com.facultyapp.faculty_backend.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hashing on the bounded {@code loginExecutor} rather than on
+ * the request thread.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor loginExecutor;
+    private final long retryAfterSeconds;
+
+    // compared against for unknown emails, at the configured cost
+    private final String dummyHash;
+
+    public PasswordVerifier(
+            PasswordEncoder passwordEncoder,
+            @Qualifier("loginExecutor") ThreadPoolExecutor loginExecutor,
+            @Value("${app.security.login.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.loginExecutor = loginExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.dummyHash = passwordEncoder.encode("unknown-user");
+    }
+
+    /**
+     * @throws LoginThrottledException if the executor queue is full
+     */
+    public boolean matches(String rawPassword, String hash) {
+        Future<Boolean> result;
+        try {
+            result = loginExecutor.submit(() -> passwordEncoder.matches(rawPassword, hash));
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new LoginThrottledException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+
+    /**
+     * For a login whose email matched no account: does the same BCrypt work
+     * as {@link #matches}, so response time doesn't tell which emails exist.
+     */
+    public void matchesUnknownUser(String rawPassword) {
+        matches(rawPassword != null ? rawPassword : "", dummyHash);
+    }
+
+    public boolean needsRehash(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    /**
+     * Best effort: re-encodes at the configured cost in the background and
+     * hands the new hash to {@code onHashed}. Skipped silently when the
+     * executor is busy; the next successful login will try again.
+     */
+    public void rehashAsync(String rawPassword, Consumer<String> onHashed) {
+        try {
+            loginExecutor.execute(() -> onHashed.accept(passwordEncoder.encode(rawPassword)));
+        } catch (RejectedExecutionException ignored) {
+            // not worth failing or delaying a login over
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.facultyapp.faculty_backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * TTL-bounded, size-capped cache of authenticated principals keyed by email.
+ *
+ * Every authenticated request resolves its user through
+ * {@link CustomUserDetailsService}; without this cache that is one
+ * {@code users} SELECT per request. Entries expire after {@code ttl} and are
+ * dropped eagerly whenever the underlying user changes (see
+ * {@link #invalidate(String)}).
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    // bumped on every invalidation so an in-flight load can't re-insert stale data
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    // ================= LOOKUP =================
+    public Optional<CachedPrincipal> getOrLoad(
+            String email,
+            Function<String, Optional<CachedPrincipal>> loader) {
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+
+        if (entry != null && entry.expiresAt > now) {
+            hits.incrementAndGet();
+            return Optional.of(entry.principal);
+        }
+
+        misses.incrementAndGet();
+
+        long loadGeneration = generation.get();
+        Optional<CachedPrincipal> loaded = loader.apply(email);
+
+        loaded.ifPresent(principal -> {
+            if (generation.get() == loadGeneration) {
+                put(email, principal, now);
+            }
+        });
+
+        return loaded;
+    }
+
+    // ================= INVALIDATION =================
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        if (entries.remove(email) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    // ================= STATS =================
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("size", (long) entries.size());
+        stats.put("maxSize", (long) maxSize);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    // ================= INTERNAL =================
+    private void put(String email, CachedPrincipal principal, long now) {
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(email, new Entry(principal, now + ttlMillis));
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, trims it back
+     * to 90% of capacity so that eviction is amortised over many inserts.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(e -> {
+            if (e.expiresAt <= now) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+
+        int target = (int) (maxSize * 0.9);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+        private final CachedPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(CachedPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
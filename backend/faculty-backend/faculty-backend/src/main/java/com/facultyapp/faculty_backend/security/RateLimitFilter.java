@@ -0,0 +1,193 @@
+package com.facultyapp.faculty_backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket throttling for the public, expensive auth endpoints
+ * (BCrypt on login, DB write + SMTP on forgot-password). Each request is
+ * charged against the client IP and, when the JSON body names one, the
+ * target email. Over-limit requests get 429 with Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/auth/login", "/auth/forgot-password");
+
+    // login / forgot-password bodies are tiny; don't buffer anything large
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private final RateLimiter ipLimiter;
+    private final RateLimiter accountLimiter;
+    private final JsonMapper jsonMapper;
+
+    public RateLimitFilter(
+            JsonMapper jsonMapper,
+            @Value("${app.security.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${app.security.rate-limit.ip.refill-seconds:60}") long ipRefillSeconds,
+            @Value("${app.security.rate-limit.account.capacity:5}") int accountCapacity,
+            @Value("${app.security.rate-limit.account.refill-seconds:300}") long accountRefillSeconds) {
+        this.jsonMapper = jsonMapper;
+        this.ipLimiter = new RateLimiter(ipCapacity, ipRefillSeconds, TimeUnit.SECONDS);
+        this.accountLimiter = new RateLimiter(accountCapacity, accountRefillSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getServletPath();
+
+        long waitNanos = ipLimiter.tryAcquire(path + "|ip:" + request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.CONTENT_TOO_LARGE.value());
+            return;
+        }
+
+        String email = extractEmail(body);
+
+        if (email != null) {
+            waitNanos = accountLimiter.tryAcquire(path + "|email:" + email);
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        accountLimiter.evictIdle();
+    }
+
+    public Map<String, Integer> stats() {
+        return Map.of(
+                "ipBuckets", ipLimiter.size(),
+                "accountBuckets", accountLimiter.size());
+    }
+
+    // ================= INTERNAL =================
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = jsonMapper.readTree(body).get("email");
+            return email != null && email.isString()
+                    ? email.asString().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (RuntimeException e) {
+            return null; // malformed body: let the controller reject it
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, please retry later\"}");
+    }
+
+    /**
+     * Replays the body that was read to find the email.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the whole body is already in memory, so it is all available now
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.facultyapp.faculty_backend.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, one per key.
+ *
+ * Implemented as GCRA: instead of storing "tokens left + last refill", each
+ * bucket is a single {@link AtomicLong} holding the theoretical arrival time
+ * (TAT) of the next request. A request is admitted when
+ * {@code TAT - burst * interval <= now}, and admission is one CAS that pushes
+ * TAT forward by one interval. Buckets live in a {@link ConcurrentHashMap},
+ * whose bins already stripe the key space, so unrelated keys never contend.
+ */
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final long intervalNanos; // time to refill one token
+    private final long burstNanos; // capacity expressed as time
+    private final LongSupplier clock;
+
+    /**
+     * @param capacity tokens available to a fresh key (burst size)
+     * @param refillPeriod time in which {@code capacity} tokens are refilled
+     */
+    public RateLimiter(int capacity, long refillPeriod, TimeUnit unit) {
+        this(capacity, refillPeriod, unit, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, long refillPeriod, TimeUnit unit, LongSupplier clock) {
+        if (capacity <= 0 || refillPeriod <= 0) {
+            throw new IllegalArgumentException("capacity and refill period must be positive");
+        }
+        this.intervalNanos = Math.max(1, unit.toNanos(refillPeriod) / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a
+     *         token becomes available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long allowAt = base + intervalNanos - burstNanos;
+
+            if (allowAt > now) {
+                return allowAt - now;
+            }
+            if (tat.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have fully refilled; they are indistinguishable
+     * from a key that was never seen.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,84 @@
+package com.facultyapp.faculty_backend.security;
+
+import com.facultyapp.faculty_backend.entity.Role;
+import io.jsonwebtoken.JwtException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Turns a raw bearer token into a {@link CurrentUser}, or nothing if the
+ * token is invalid, expired or revoked. All checks are in memory: signature
+ * via the verified-token cache, logout via {@link TokenRevocationList}, and
+ * per-user revocation by comparing the token's version claim with the
+ * cached principal.
+ */
+@Component
+public class TokenAuthenticator {
+
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    public TokenAuthenticator(
+            JwtUtil jwtUtil,
+            CustomUserDetailsService userDetailsService,
+            TokenRevocationList revocationList) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+    }
+
+    public Optional<CurrentUser> authenticate(String token) {
+
+        VerifiedToken verified;
+        try {
+            verified = jwtUtil.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        CachedPrincipal principal = currentPrincipal(verified);
+        if (principal == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(toCurrentUser(verified, principal));
+    }
+
+    /**
+     * Re-checks a token accepted earlier, for connections that outlive the
+     * request that opened them (chat sockets): false once it has expired,
+     * been logged out, or its user's tokens have been revoked.
+     */
+    public boolean isStillValid(VerifiedToken token) {
+        return !token.isExpired(System.currentTimeMillis()) && currentPrincipal(token) != null;
+    }
+
+    // null if the token was revoked on its own (logout) or with all of its user's tokens
+    private CachedPrincipal currentPrincipal(VerifiedToken verified) {
+        if (revocationList.isRevoked(verified.getTokenId())) {
+            return null;
+        }
+
+        // cached lookup: confirms the account still exists
+        CachedPrincipal principal = userDetailsService
+                .loadPrincipal(verified.getSubject())
+                .orElse(null);
+
+        if (principal == null || verified.getTokenVersion() != principal.getTokenVersion()) {
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Id and role come from the token claims; tokens issued before those
+     * claims existed fall back to the cached principal.
+     */
+    private CurrentUser toCurrentUser(VerifiedToken token, CachedPrincipal principal) {
+        Long id = token.getUserId() != null ? token.getUserId() : principal.getId();
+        Role role = token.getRole() != null ? Role.valueOf(token.getRole()) : principal.getRole();
+        return new CurrentUser(id, principal.getEmail(), role);
+    }
+}
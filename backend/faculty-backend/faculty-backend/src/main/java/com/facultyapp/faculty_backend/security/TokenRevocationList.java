@@ -0,0 +1,111 @@
+package com.facultyapp.faculty_backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of individually revoked token ids (jti), used by logout.
+ *
+ * Lookups are on the hot path of every authenticated request, so the exact
+ * set is fronted by a Bloom filter: for the overwhelming majority of tokens,
+ * which were never revoked, {@link #isRevoked(String)} answers from a few bit
+ * reads without touching the map. Entries are kept only until the token would
+ * have expired anyway; {@link #prune()} drops them and rebuilds the filter.
+ *
+ * Per-user revocation (deactivate, delete, password reset) does not go
+ * through here; it bumps {@code users.token_version} instead.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final int HASHES = 4;
+
+    private final int bits;
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile AtomicLongArray filter;
+
+    public TokenRevocationList(
+            @Value("${app.security.revocation.bloom-bits:1048576}") int bits) {
+        this.bits = bits;
+        this.filter = new AtomicLongArray((bits + 63) / 64);
+    }
+
+    // writers are rare (logout) and serialised with prune()
+    public synchronized void revoke(String tokenId, long expiresAt) {
+        if (tokenId == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        add(filter, tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !mightContain(filter, tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.prune-interval-ms:600000}")
+    public synchronized void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        AtomicLongArray rebuilt = new AtomicLongArray(filter.length());
+        revoked.keySet().forEach(id -> add(rebuilt, id));
+        filter = rebuilt;
+    }
+
+    // ================= BLOOM FILTER =================
+    private void add(AtomicLongArray target, String id) {
+        long h1 = id.hashCode();
+        long h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = target.get(word);
+            } while ((current & mask) == 0 && !target.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray target, String id) {
+        long h1 = id.hashCode();
+        long h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = index(h1 + i * h2);
+            if ((target.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(long hash) {
+        return (int) Math.floorMod(hash, (long) bits);
+    }
+
+    // murmur3 finaliser, gives an independent second hash
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1;
+    }
+}
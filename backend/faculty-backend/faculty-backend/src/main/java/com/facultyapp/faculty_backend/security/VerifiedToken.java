@@ -0,0 +1,74 @@
+package com.facultyapp.faculty_backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been
+ * checked by {@link JwtUtil#verify(String)}. Safe to share between requests.
+ */
+public final class VerifiedToken {
+
+    private final String tokenId;
+    private final String subject;
+    private final Long userId;
+    private final String role;
+    private final int tokenVersion;
+    private final long issuedAt;
+    private final long expiresAt;
+    private final Map<String, Object> claims;
+
+    VerifiedToken(Claims claims) {
+        this.tokenId = claims.getId();
+        this.subject = claims.getSubject();
+        Number uid = claims.get("uid", Number.class);
+        this.userId = uid != null ? uid.longValue() : null;
+        this.role = claims.get("role", String.class);
+        Number ver = claims.get("ver", Number.class);
+        this.tokenVersion = ver != null ? ver.intValue() : 0;
+        this.issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+        this.expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    // jti; null for tokens issued before logout existed
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    // null for tokens issued before the uid claim was added
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
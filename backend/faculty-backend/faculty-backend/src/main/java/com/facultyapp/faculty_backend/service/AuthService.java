@@ -1,5 +1,6 @@
 package com.facultyapp.faculty_backend.service;
 
+import com.facultyapp.faculty_backend.dto.LoginCandidate;
 import com.facultyapp.faculty_backend.dto.LoginRequest;
 import com.facultyapp.faculty_backend.dto.LoginResponse;
 import com.facultyapp.faculty_backend.dto.UserProfileResponse;
@@ -10,6 +11,8 @@ import com.facultyapp.faculty_backend.entity.User;
 import com.facultyapp.faculty_backend.repository.FacultyRepository;
 import com.facultyapp.faculty_backend.repository.UserRepository;
 import com.facultyapp.faculty_backend.security.JwtUtil;
+import com.facultyapp.faculty_backend.security.PasswordVerifier;
+import com.facultyapp.faculty_backend.security.PrincipalCache;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -18,28 +21,30 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.Path;
 import java.util.UUID;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class AuthService {
 
-        private final AuthenticationManager authenticationManager;
         private final UserRepository userRepository;
         private final FacultyRepository facultyRepository;
         private final JwtUtil jwtUtil;
+        private final PasswordVerifier passwordVerifier;
+        private final PrincipalCache principalCache;
 
         public AuthService(
-                        AuthenticationManager authenticationManager,
                         UserRepository userRepository,
                         FacultyRepository facultyRepository,
-                        JwtUtil jwtUtil) {
-                this.authenticationManager = authenticationManager;
+                        JwtUtil jwtUtil,
+                        PasswordVerifier passwordVerifier,
+                        PrincipalCache principalCache) {
                 this.userRepository = userRepository;
                 this.facultyRepository = facultyRepository;
                 this.jwtUtil = jwtUtil;
+                this.passwordVerifier = passwordVerifier;
+                this.principalCache = principalCache;
         }
 
         // ==============================
@@ -47,48 +52,71 @@ public class AuthService {
         // ==============================
         public LoginResponse login(LoginRequest request) {
 
-                // 1️⃣ Authenticate email + password
-                authenticationManager.authenticate(
-                                new UsernamePasswordAuthenticationToken(
-                                                request.getEmail(),
-                                                request.getPassword()));
+                // 1️⃣ Load user + faculty status (single joined query)
+                LoginCandidate user = userRepository.findLoginCandidate(request.getEmail())
+                                .orElse(null);
 
-                // 2️⃣ Load user
-                User user = userRepository.findByEmail(request.getEmail())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                if (user == null) {
+                        // pay for a hash anyway: a fast miss would reveal the email is unknown
+                        passwordVerifier.matchesUnknownUser(request.getPassword());
+                        throw new BadCredentialsException("Bad credentials");
+                }
 
                 if (!user.isEnabled()) {
                         throw new RuntimeException("User account is disabled");
                 }
 
-                // 3️⃣ ADMIN LOGIN
+                // 2️⃣ Check password on the bounded BCrypt executor
+                if (request.getPassword() == null
+                                || !passwordVerifier.matches(request.getPassword(), user.getPasswordHash())) {
+                        throw new BadCredentialsException("Bad credentials");
+                }
+
+                // 3️⃣ Upgrade weak hashes in the background
+                if (passwordVerifier.needsRehash(user.getPasswordHash())) {
+                        passwordVerifier.rehashAsync(request.getPassword(), newHash -> {
+                                if (userRepository.replacePasswordHash(
+                                                user.getId(), user.getPasswordHash(), newHash) > 0) {
+                                        principalCache.invalidate(user.getEmail());
+                                }
+                        });
+                }
+
+                // 4️⃣ ADMIN LOGIN
                 if (user.getRole() == Role.ADMIN) {
                         String token = jwtUtil.generateToken(
+                                        user.getId(),
                                         user.getEmail(),
-                                        user.getRole().name());
+                                        user.getRole().name(),
+                                        user.getTokenVersion());
                         return new LoginResponse(token, "ADMIN", "ACTIVE");
                 }
 
-                // 4️⃣ FACULTY STATUS CHECK
-                Faculty faculty = facultyRepository.findByUser(user)
-                                .orElseThrow(() -> new RuntimeException("Faculty profile not found"));
+                // 5️⃣ FACULTY STATUS CHECK
+                FacultyStatus status = user.getFacultyStatus();
+
+                if (status == null) {
+                        throw new RuntimeException("Faculty profile not found");
+                }
 
-                if (faculty.getStatus() != FacultyStatus.ACTIVE) {
+                if (status != FacultyStatus.ACTIVE) {
                         return new LoginResponse(
                                         null,
                                         "FACULTY",
-                                        faculty.getStatus().name());
+                                        status.name());
                 }
 
-                // 5️⃣ GENERATE TOKEN
+                // 6️⃣ GENERATE TOKEN
                 String token = jwtUtil.generateToken(
+                                user.getId(),
                                 user.getEmail(),
-                                user.getRole().name());
+                                user.getRole().name(),
+                                user.getTokenVersion());
 
                 return new LoginResponse(
                                 token,
                                 "FACULTY",
-                                faculty.getStatus().name());
+                                status.name());
         }
 
         public UserProfileResponse getMyProfile(String email) {
@@ -0,0 +1,171 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.dto.BroadcastResponse;
+import com.facultyapp.faculty_backend.dto.MessageResponse;
+import com.facultyapp.faculty_backend.dto.NotificationResponse;
+import com.facultyapp.faculty_backend.realtime.ChatMessageEvent;
+import com.facultyapp.faculty_backend.realtime.NotificationEvent;
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Admin -> every active faculty member, as one private message each.
+ *
+ * Everything is set-based (PostgreSQL only): one statement creates the
+ * missing admin/faculty conversations, a second inserts every message and
+ * notification (folding into unread chat notifications), bumps the unread
+ * counters and advances every inbox pointer. The cost is two round trips
+ * however many faculty there are, instead of a few per recipient.
+ *
+ * Ids come straight from the pooled sequences; each {@code nextval} skips
+ * a whole Hibernate block, so broadcast ids are spaced 50 apart but never
+ * collide with entity-generated ones.
+ */
+@Service
+public class BroadcastService {
+
+    private static final Logger log = LoggerFactory.getLogger(BroadcastService.class);
+
+    private static final int MAX_CONTENT_LENGTH = 2000;
+
+    private static final String RECIPIENTS = """
+            SELECT u.id FROM users u
+            JOIN faculty f ON f.user_id = u.id
+            WHERE f.status = 'ACTIVE' AND NOT f.deleted AND u.enabled AND u.id <> ?
+            """;
+
+    private static final String CREATE_CONVERSATIONS = """
+            INSERT INTO conversations (id, user1_id, user2_id, created_at)
+            SELECT nextval('conversations_seq'), LEAST(?, r.id), GREATEST(?, r.id), ?
+            FROM (""" + RECIPIENTS + """
+            ) r
+            ON CONFLICT (user1_id, user2_id) DO NOTHING
+            """;
+
+    private static final String SEND = """
+            WITH recipients AS (
+                SELECT c.id AS conversation_id, r.id AS user_id
+                FROM (""" + RECIPIENTS + """
+                ) r
+                JOIN conversations c ON c.user1_id = LEAST(?, r.id) AND c.user2_id = GREATEST(?, r.id)
+            ), sent AS (
+                INSERT INTO messages (id, conversation_id, sender_id, content, edited, created_at)
+                SELECT nextval('messages_seq'), conversation_id, ?, ?, false, ?
+                FROM recipients
+                RETURNING id, conversation_id
+            ), notified AS (
+                INSERT INTO notifications (id, user_id, conversation_id, category, type, message, context, read, muted, repeat_count, created_at)
+                SELECT nextval('notifications_seq'), user_id, conversation_id, 'Admin', 'new_message', ?, 'Broadcast', false, false, 1, ?
+                FROM recipients
+                -- folds into an unread chat notification, like a regular send
+                ON CONFLICT (user_id, conversation_id) WHERE type = 'new_message' AND read = false
+                DO UPDATE SET repeat_count = notifications.repeat_count + 1,
+                              message = EXCLUDED.message,
+                              context = EXCLUDED.context,
+                              created_at = GREATEST(notifications.created_at, EXCLUDED.created_at)
+                RETURNING id, user_id, conversation_id, repeat_count, created_at, (xmax = 0) AS inserted
+            ), counted AS (
+                INSERT INTO notification_counters (user_id, category, unread)
+                SELECT user_id, 'Admin', 1 FROM notified WHERE inserted
+                ORDER BY user_id -- same lock order as the invite fan-out
+                ON CONFLICT (user_id, category) DO UPDATE SET unread = notification_counters.unread + 1
+            ), advanced AS (
+                UPDATE conversations c SET last_message_id = s.id, last_message_at = ?
+                FROM sent s
+                WHERE c.id = s.conversation_id
+                  AND (c.last_message_at IS NULL OR (c.last_message_at, c.last_message_id) < (?, s.id))
+            )
+            SELECT s.conversation_id, s.id, n.user_id, n.id, n.repeat_count, n.created_at
+            FROM sent s
+            JOIN notified n ON n.conversation_id = s.conversation_id
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+    private final MessageWindowCache windowCache;
+
+    public BroadcastService(
+            JdbcTemplate jdbc,
+            ApplicationEventPublisher events,
+            MessageWindowCache windowCache) {
+        this.jdbc = jdbc;
+        this.events = events;
+        this.windowCache = windowCache;
+    }
+
+    // ================= BROADCAST =================
+
+    /**
+     * Sends {@code content} to every active faculty member in one
+     * transaction; on return it is committed. Live delivery to open chats
+     * happens after commit, like a regular send.
+     */
+    @Transactional
+    public BroadcastResponse broadcast(CurrentUser admin, String content) {
+
+        if (content == null || content.isBlank()) {
+            throw new RuntimeException("Message content is required");
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new RuntimeException("Message is too long");
+        }
+
+        Long adminId = admin.getId();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp at = Timestamp.valueOf(now);
+
+        int created = jdbc.update(CREATE_CONVERSATIONS, adminId, adminId, at, adminId);
+
+        String notice = admin.getEmail() + " sent you a message";
+
+        // one row per recipient: (conversation, message, user, notification, count, notified at)
+        List<Object[]> sent = jdbc.query(SEND,
+                (rs, i) -> new Object[] {
+                        rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getInt(5),
+                        rs.getTimestamp(6).toLocalDateTime() },
+                adminId, adminId, adminId,
+                adminId, content, at,
+                notice, at,
+                at, at);
+
+        List<ChatMessageEvent> delivered = sent.stream()
+                .map(row -> new ChatMessageEvent(ChatMessageEvent.CREATED, (Long) row[0],
+                        new MessageResponse((Long) row[1], adminId, admin.getEmail(), content, false, now)))
+                .toList();
+
+        // a fold into an unread notification is pushed again, same id, new count
+        List<NotificationEvent> notified = sent.stream()
+                .map(row -> NotificationEvent.forUser((Long) row[2], new NotificationResponse(
+                        (Long) row[3], false, "Admin", "new_message", notice, "Broadcast", (Long) row[0],
+                        false, false, (Integer) row[4], (LocalDateTime) row[5])))
+                .toList();
+
+        // windows only after commit: a read racing this transaction could
+        // otherwise install a window that is missing the broadcast
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delivered.forEach(e -> windowCache.onSend(e.getConversationId(), e.getMessage()));
+            }
+        });
+
+        // 📡 LIVE DELIVERY (after commit, see ChatSubscriberRegistry and NotificationStreamRegistry)
+        delivered.forEach(events::publishEvent);
+        notified.forEach(events::publishEvent);
+
+        log.info("Broadcast from {} to {} faculty ({} new conversations)", adminId, sent.size(), created);
+
+        return new BroadcastResponse(sent.size(), created, now);
+    }
+}
@@ -1,9 +1,11 @@
 package com.facultyapp.faculty_backend.service;
 
+import com.facultyapp.faculty_backend.dto.NotificationFanoutProgress;
 import com.facultyapp.faculty_backend.entity.CalendarEvent;
-import com.facultyapp.faculty_backend.entity.User;
 import com.facultyapp.faculty_backend.repository.CalendarEventRepository;
 import com.facultyapp.faculty_backend.repository.UserRepository;
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -15,15 +17,23 @@ public class CalendarService {
     private final CalendarEventRepository repository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final NotificationFanoutService fanoutService;
+
+    // true: one broadcast row read by everyone; false: one row per user
+    private final boolean invitesFanOutOnRead;
 
     public CalendarService(
             CalendarEventRepository repository,
             UserRepository userRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            NotificationFanoutService fanoutService,
+            @Value("${app.notifications.invites.fan-out-on-read:true}") boolean invitesFanOutOnRead) {
 
         this.repository = repository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.fanoutService = fanoutService;
+        this.invitesFanOutOnRead = invitesFanOutOnRead;
     }
 
     // ================= FETCH UPCOMING EVENTS =================
@@ -32,40 +42,68 @@ public class CalendarService {
     }
 
     // ================= CREATE EVENT =================
-    public CalendarEvent createEvent(CalendarEvent event, String email) {
-
-        User creator = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public CalendarEvent createEvent(CalendarEvent event, CurrentUser creator) {
 
-        event.setCreatedBy(creator);
+        event.setCreatedBy(userRepository.getReferenceById(creator.getId()));
         event.setUserEvent(true);
 
         CalendarEvent savedEvent = repository.save(event);
 
+        String invite = creator.getEmail() + " invited you to a meeting";
+
         // 🔔 NOTIFY ALL OTHER USERS
-        List<User> users = userRepository.findAll();
-
-        for (User user : users) {
-            if (!user.getId().equals(creator.getId())) {
-                notificationService.create(
-                        user,
-                        "Meetings",
-                        "meeting_invite",
-                        creator.getEmail() + " invited you to a meeting",
-                        savedEvent.getTitle());
-            }
+        if (invitesFanOutOnRead) {
+            notificationService.broadcast(
+                    creator.getId(), "Meetings", "meeting_invite", invite, savedEvent.getTitle());
+        } else {
+            // in the background, see getInviteProgress
+            fanoutService.submit(
+                    inviteKey(savedEvent.getId()),
+                    creator.getId(),
+                    "Meetings",
+                    "meeting_invite",
+                    invite,
+                    savedEvent.getTitle());
         }
 
         return savedEvent;
     }
 
+    // ================= INVITE FAN-OUT =================
+    public NotificationFanoutProgress getInviteProgress(Long eventId) {
+        if (!repository.existsById(eventId)) {
+            throw new RuntimeException("Event not found");
+        }
+
+        if (invitesFanOutOnRead) {
+            // a broadcast invite reached everyone when the event was saved
+            NotificationFanoutProgress progress = new NotificationFanoutProgress(inviteKey(eventId));
+            progress.setStatus(NotificationFanoutProgress.ON_READ);
+            return progress;
+        }
+
+        NotificationFanoutProgress progress = fanoutService.progress(inviteKey(eventId));
+
+        if (progress == null) {
+            // only the most recent fan-outs are tracked, and not across restarts
+            throw new RuntimeException("No invite fan-out for this event");
+        }
+
+        return progress;
+    }
+
+    private static String inviteKey(Long eventId) {
+        return "calendar-event:" + eventId;
+    }
+
     // ================= DELETE EVENT =================
-    public void deleteEvent(Long id, String email) {
+    public void deleteEvent(Long id, Long userId) {
 
         CalendarEvent event = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        if (!event.getCreatedBy().getEmail().equals(email)) {
+        // id comes from the lazy proxy without loading the creator row
+        if (!event.getCreatedBy().getId().equals(userId)) {
             throw new RuntimeException("Not allowed");
         }
 
@@ -1,31 +1,129 @@
 package com.facultyapp.faculty_backend.service;
 
+import com.facultyapp.faculty_backend.dto.ConversationResponse;
+import com.facultyapp.faculty_backend.dto.MessageCursor;
 import com.facultyapp.faculty_backend.entity.Conversation;
 import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.repository.ConversationReadRepository;
 import com.facultyapp.faculty_backend.repository.ConversationRepository;
+import com.facultyapp.faculty_backend.repository.MessageRepository;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class ConversationService {
 
     private final ConversationRepository repo;
+    private final UserRepository userRepo;
+    private final ConversationReadRepository readRepo;
+    private final MessageRepository messageRepo;
+    private final NotificationService notificationService;
+
+    // canonical pair -> conversation id; conversations are never deleted, so
+    // entries only ever leave through LRU eviction
+    private final Map<String, Long> pairCache;
 
-    public ConversationService(ConversationRepository repo) {
+    public ConversationService(
+            ConversationRepository repo,
+            UserRepository userRepo,
+            ConversationReadRepository readRepo,
+            MessageRepository messageRepo,
+            NotificationService notificationService,
+            @Value("${app.chat.conversation-cache.max-size:10000}") int pairCacheMaxSize) {
         this.repo = repo;
+        this.userRepo = userRepo;
+        this.readRepo = readRepo;
+        this.messageRepo = messageRepo;
+        this.notificationService = notificationService;
+        this.pairCache = Collections.synchronizedMap(
+                new LinkedHashMap<>(256, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                        return size() > pairCacheMaxSize;
+                    }
+                });
+    }
+
+    // ================= INBOX =================
+    public List<ConversationResponse> getInbox(Long userId) {
+        return repo.findInbox(userId);
+    }
+
+    // ================= READ STATE =================
+
+    /**
+     * Moves the caller's read mark up to {@code messageId} (default: the
+     * newest message). The mark is that message's (created_at, id), so it
+     * must be a message of this conversation and can't pre-mark future
+     * ones; it never moves backwards.
+     */
+    public void markRead(Long conversationId, Long userId, Long messageId) {
+        if (!repo.isParticipant(conversationId, userId)) {
+            throw new RuntimeException("Not allowed");
+        }
+
+        MessageCursor mark;
+        if (messageId != null) {
+            mark = messageRepo.findPosition(conversationId, messageId)
+                    .orElseThrow(() -> new RuntimeException("Message not found"));
+        } else {
+            mark = repo.findLastMessagePosition(conversationId).orElse(null);
+            if (mark == null) {
+                return; // nothing to read yet
+            }
+        }
+
+        readRepo.advance(conversationId, userId, mark.getCreatedAt(), mark.getId());
+        notificationService.markConversationRead(userId, conversationId);
     }
 
     public Conversation findOrCreateAdminBroadcast(User admin, User faculty) {
-        return findOrCreate(admin, faculty);
+        return findOrCreate(admin.getId(), faculty.getId());
     }
 
-    public Conversation findOrCreate(User u1, User u2) {
-        return repo.findByUser1AndUser2(u1, u2)
-                .or(() -> repo.findByUser2AndUser1(u1, u2))
-                .orElseGet(() -> {
-                    Conversation c = new Conversation();
-                    c.setUser1(u1);
-                    c.setUser2(u2);
-                    return repo.save(c);
-                });
+    public Conversation findOrCreate(Long u1, Long u2) {
+        return repo.getReferenceById(findOrCreateId(u1, u2));
+    }
+
+    /**
+     * Returns the id of the private conversation between two users, creating
+     * it on first use. Either argument order maps to the same row: the pair is
+     * stored as (min, max) under a unique index, and creation is an
+     * {@code INSERT ... ON CONFLICT DO NOTHING}, so parallel opens of a new
+     * chat converge on a single conversation. A user can't open one with
+     * themselves.
+     */
+    public Long findOrCreateId(Long u1, Long u2) {
+        if (u1.equals(u2)) {
+            throw new RuntimeException("Cannot start a conversation with yourself");
+        }
+
+        Long low = Math.min(u1, u2);
+        Long high = Math.max(u1, u2);
+        String key = low + ":" + high;
+
+        Long cached = pairCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Long id = repo.findIdByPair(low, high).orElseGet(() -> {
+            if (!userRepo.existsById(u2)) {
+                throw new RuntimeException("User not found");
+            }
+            repo.insertIfAbsent(low, high);
+            // either our insert or the one that beat us to it
+            return repo.findIdByPair(low, high)
+                    .orElseThrow(() -> new RuntimeException("Conversation not found"));
+        });
+
+        pairCache.put(key, id);
+        return id;
     }
 }
@@ -3,6 +3,7 @@ package com.facultyapp.faculty_backend.service;
 import com.facultyapp.faculty_backend.entity.*;
 import com.facultyapp.faculty_backend.repository.FacultyRepository;
 import com.facultyapp.faculty_backend.repository.UserRepository;
+import com.facultyapp.faculty_backend.security.PrincipalCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -18,14 +19,20 @@ public class FacultyService {
     private final UserRepository userRepository;
     private final FacultyRepository facultyRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final SessionService sessionService;
 
     public FacultyService(
             UserRepository userRepository,
             FacultyRepository facultyRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            PrincipalCache principalCache,
+            SessionService sessionService) {
         this.userRepository = userRepository;
         this.facultyRepository = facultyRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.sessionService = sessionService;
     }
 
     // ==========================
@@ -114,6 +121,9 @@ public class FacultyService {
                 .orElseThrow(() -> new RuntimeException("Faculty not found"));
         faculty.setStatus(FacultyStatus.INACTIVE);
         facultyRepository.save(faculty);
+
+        // outstanding tokens stop working immediately
+        sessionService.revokeAll(faculty.getUser());
     }
 
     public void activateFaculty(Long id) {
@@ -121,6 +131,8 @@ public class FacultyService {
                 .orElseThrow(() -> new RuntimeException("Faculty not found"));
         faculty.setStatus(FacultyStatus.ACTIVE);
         facultyRepository.save(faculty);
+
+        principalCache.invalidate(faculty.getUser().getEmail());
     }
 
     // ==========================
@@ -144,7 +156,11 @@ public class FacultyService {
         facultyRepository.delete(faculty);
 
         // 3️⃣ Delete linked User
-        userRepository.delete(faculty.getUser());
+        User user = faculty.getUser();
+        userRepository.delete(user);
+
+        // tokens die with the cached principal: the next lookup finds no user
+        principalCache.invalidate(user.getEmail());
     }
 
     public List<FacultyDirectoryResponse> getFacultyDirectory() {
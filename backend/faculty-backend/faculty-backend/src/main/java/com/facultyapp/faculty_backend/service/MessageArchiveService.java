@@ -0,0 +1,250 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.dto.MessageResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves cold chat history out of the hot {@code messages} table into
+ * {@code messages_archive}, which is range-partitioned by month on
+ * {@code created_at} (PostgreSQL only, see db/postgres-schema.sql).
+ *
+ * The hot table then only ever holds the last {@code after-days} of traffic
+ * (plus each conversation's newest message, which the inbox points at), so
+ * its indexes stay small no matter how much history accumulates. Paging
+ * back past that point reads through to the archive; see
+ * {@link MessageService#getMessages}; search covers the archive too. Archived
+ * messages are read-only.
+ *
+ * The cron only hands the run to {@code messageArchiveExecutor}, which moves
+ * {@code batch-size} rows per short transaction with a pause in between; a
+ * run that is still going when the next one is due makes that one a no-op.
+ */
+@Service
+public class MessageArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageArchiveService.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private static final String MOVE_BATCH = """
+            WITH moved AS (
+                DELETE FROM messages
+                WHERE id IN (
+                    SELECT m.id FROM messages m
+                    WHERE m.created_at < ?
+                      AND NOT EXISTS (SELECT 1 FROM conversations c WHERE c.last_message_id = m.id)
+                    LIMIT ?
+                )
+                RETURNING id, conversation_id, sender_id, content, edited, created_at
+            )
+            INSERT INTO messages_archive (id, conversation_id, sender_id, content, edited, created_at)
+            SELECT id, conversation_id, sender_id, content, edited, created_at FROM moved
+            """;
+
+    private static final String SELECT_PAGE = """
+            SELECT a.id, a.sender_id, u.email, a.content, a.edited, a.created_at
+            FROM messages_archive a
+            JOIN users u ON u.id = a.sender_id
+            WHERE a.conversation_id = ?
+            """;
+
+    private static final RowMapper<MessageResponse> ROW = (rs, i) -> new MessageResponse(
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getBoolean(5),
+            rs.getTimestamp(6).toLocalDateTime());
+
+    private final JdbcTemplate jdbc;
+    private final ThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    // newest created_at in the archive; null = nothing archived, skip read-through
+    private volatile LocalDateTime horizon;
+    private volatile boolean horizonLoaded;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong moved = new AtomicLong();
+    private volatile long lastRunMoved;
+    private volatile long lastRunMillis;
+    private volatile LocalDateTime lastRunAt;
+    private volatile boolean running;
+
+    public MessageArchiveService(
+            JdbcTemplate jdbc,
+            @Qualifier("messageArchiveExecutor") ThreadPoolExecutor executor,
+            @Value("${app.chat.archive.enabled:false}") boolean enabled,
+            @Value("${app.chat.archive.after-days:180}") int afterDays,
+            @Value("${app.chat.archive.batch-size:5000}") int batchSize,
+            @Value("${app.chat.archive.pause-ms:100}") long pauseMillis) {
+        this.jdbc = jdbc;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    // ================= ARCHIVAL JOB =================
+    @Scheduled(cron = "${app.chat.archive.cron:0 30 3 * * *}")
+    public void scheduleArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(this::archiveColdMessages);
+        } catch (RejectedExecutionException e) {
+            log.warn("Message archival is still running; skipping this run");
+        }
+    }
+
+    /** One full run on the calling thread; see {@link #scheduleArchive}. */
+    public void archiveColdMessages() {
+
+        running = true;
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long total = 0;
+
+        try {
+            LocalDateTime oldest = jdbc.queryForObject(
+                    "SELECT MIN(created_at) FROM messages WHERE created_at < ?",
+                    LocalDateTime.class, Timestamp.valueOf(cutoff));
+
+            if (oldest != null) {
+                ensurePartitions(YearMonth.from(oldest), YearMonth.from(cutoff));
+
+                // one short transaction per batch, so the hot table is never locked for long
+                int n;
+                do {
+                    n = jdbc.update(MOVE_BATCH, Timestamp.valueOf(cutoff), batchSize);
+                    total += n;
+                    moved.addAndGet(n);
+                    if (n == batchSize) {
+                        pause();
+                    }
+                } while (n == batchSize);
+            }
+
+            runs.incrementAndGet();
+            log.info("Archived {} messages older than {}", total, cutoff);
+
+        } catch (RuntimeException e) {
+            // batches already moved stay moved; the next run carries on
+            failures.incrementAndGet();
+            log.error("Message archival failed after {} rows", total, e);
+
+        } finally {
+            if (total > 0) {
+                refreshHorizon();
+            }
+            lastRunMoved = total;
+            lastRunMillis = (System.nanoTime() - started) / 1_000_000;
+            lastRunAt = LocalDateTime.now();
+            running = false;
+        }
+    }
+
+    private void ensurePartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbc.execute("CREATE TABLE IF NOT EXISTS messages_archive_" + month.format(PARTITION_SUFFIX)
+                    + " PARTITION OF messages_archive FOR VALUES FROM ('" + month.atDay(1)
+                    + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    // ================= READ-THROUGH =================
+
+    /** False until something has been archived; callers then skip the archive entirely. */
+    public boolean hasArchive() {
+        return horizon() != null;
+    }
+
+    /** Whether anything newer than {@code createdAt} may live in the archive. */
+    public boolean mayHoldNewerThan(LocalDateTime createdAt) {
+        LocalDateTime h = horizon();
+        return h != null && !h.isBefore(createdAt);
+    }
+
+    // newest first, strictly before (createdAt, id); both null = from the top
+    public List<MessageResponse> findBefore(Long conversationId, LocalDateTime createdAt, Long id, int limit) {
+        if (createdAt == null) {
+            return jdbc.query(SELECT_PAGE + " ORDER BY a.created_at DESC, a.id DESC LIMIT ?",
+                    ROW, conversationId, limit);
+        }
+        return jdbc.query(SELECT_PAGE + " AND (a.created_at, a.id) < (?, ?) ORDER BY a.created_at DESC, a.id DESC LIMIT ?",
+                ROW, conversationId, Timestamp.valueOf(createdAt), id, limit);
+    }
+
+    // oldest first, strictly after (createdAt, id)
+    public List<MessageResponse> findAfter(Long conversationId, LocalDateTime createdAt, Long id, int limit) {
+        return jdbc.query(SELECT_PAGE + " AND (a.created_at, a.id) > (?, ?) ORDER BY a.created_at ASC, a.id ASC LIMIT ?",
+                ROW, conversationId, Timestamp.valueOf(createdAt), id, limit);
+    }
+
+    // ================= STATS =================
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("afterDays", afterDays);
+        stats.put("batchSize", batchSize);
+        stats.put("pauseMs", pauseMillis);
+        stats.put("horizon", horizon());
+        stats.put("running", running);
+        stats.put("runs", runs.get());
+        stats.put("failures", failures.get());
+        stats.put("moved", moved.get());
+        stats.put("lastRunMoved", lastRunMoved);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunAt", lastRunAt);
+        return stats;
+    }
+
+    // ================= INTERNAL =================
+    private LocalDateTime horizon() {
+        if (enabled && !horizonLoaded) {
+            refreshHorizon();
+        }
+        return horizon;
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Message archival interrupted");
+        }
+    }
+
+    private void refreshHorizon() {
+        horizon = jdbc.queryForObject("SELECT MAX(created_at) FROM messages_archive", LocalDateTime.class);
+        horizonLoaded = true;
+    }
+}
@@ -1,104 +1,370 @@
 package com.facultyapp.faculty_backend.service;
 
+import com.facultyapp.faculty_backend.dto.MessageCursor;
+import com.facultyapp.faculty_backend.dto.MessagePageResponse;
 import com.facultyapp.faculty_backend.dto.MessageResponse;
+import com.facultyapp.faculty_backend.dto.MessageSearchCursor;
+import com.facultyapp.faculty_backend.dto.MessageSearchHit;
+import com.facultyapp.faculty_backend.dto.MessageSearchResponse;
 import com.facultyapp.faculty_backend.entity.*;
 import com.facultyapp.faculty_backend.repository.*;
+import com.facultyapp.faculty_backend.realtime.ChatMessageEvent;
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class MessageService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final MessageRepository messageRepo;
     private final ConversationRepository convoRepo;
+    private final UserRepository userRepo;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher events;
+    private final MessageWindowCache windowCache;
+    private final MessageArchiveService archive;
 
     public MessageService(
             MessageRepository messageRepo,
             ConversationRepository convoRepo,
-            NotificationService notificationService) {
+            UserRepository userRepo,
+            NotificationService notificationService,
+            ApplicationEventPublisher events,
+            MessageWindowCache windowCache,
+            MessageArchiveService archive) {
 
         this.messageRepo = messageRepo;
         this.convoRepo = convoRepo;
+        this.userRepo = userRepo;
         this.notificationService = notificationService;
+        this.events = events;
+        this.windowCache = windowCache;
+        this.archive = archive;
     }
 
     // ================= SEND MESSAGE =================
-    public MessageResponse sendMessage(Long conversationId, User sender, String content) {
+    @Transactional
+    public MessageResponse sendMessage(Long conversationId, CurrentUser sender, String content) {
 
         Conversation convo = convoRepo.findById(conversationId)
                 .orElseThrow(() -> new RuntimeException("Conversation not found"));
 
         Message msg = new Message();
         msg.setConversation(convo);
-        msg.setSender(sender);
+        msg.setSender(userRepo.getReferenceById(sender.getId())); // no SELECT
         msg.setContent(content);
 
         messageRepo.save(msg);
 
+        convoRepo.advanceLastMessage(conversationId, msg.getId(), msg.getCreatedAt());
+
         // 🔔 DETERMINE RECEIVER
         User receiver = convo.getUser1().getId().equals(sender.getId())
                 ? convo.getUser2()
                 : convo.getUser1();
 
-        // 🔔 CREATE NOTIFICATION FOR RECEIVER
-        notificationService.create(
+        // 🔔 CREATE NOTIFICATION FOR RECEIVER (also drives the inbox unread count)
+        notificationService.createForConversation(
                 receiver,
+                conversationId,
                 "Admin", // category
-                "new_message", // type
                 sender.getEmail() + " sent you a message",
                 "Direct Message");
 
-        return map(msg);
+        MessageResponse response = map(msg, sender.getEmail());
+
+        afterCommit(() -> windowCache.onSend(conversationId, response));
+
+        // 📡 LIVE DELIVERY (WebSocket subscribers, after commit)
+        events.publishEvent(new ChatMessageEvent(ChatMessageEvent.CREATED, conversationId, response));
+
+        return response;
     }
 
     // ================= GET CHAT HISTORY =================
-    public List<MessageResponse> getMessages(Long conversationId) {
-        Conversation convo = convoRepo.findById(conversationId)
-                .orElseThrow(() -> new RuntimeException("Conversation not found"));
 
-        return messageRepo
-                .findByConversationOrderByCreatedAtAsc(convo)
-                .stream()
-                .map(this::map)
-                .collect(Collectors.toList());
+    /**
+     * One keyset page of history. With no cursor, returns the latest
+     * {@code limit} messages; {@code before} scrolls back, {@code after}
+     * fetches what arrived since. Messages are always oldest -> newest.
+     * Only the conversation's participants may read it.
+     */
+    public MessagePageResponse getMessages(Long conversationId, Long userId, String before, String after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        boolean forward = after != null;
+
+        // 🔥 latest page of a hot chat: straight from the window, no DB
+        // (the window only answers participants it has already seen)
+        if (!forward && before == null) {
+            List<MessageResponse> cached = windowCache.latest(conversationId, userId, size + 1);
+            if (cached != null) {
+                return toPage(cached, size, null);
+            }
+        }
+
+        if (!convoRepo.isParticipant(conversationId, userId)) {
+            throw new RuntimeException("Not allowed");
+        }
+
+        Pageable page = PageRequest.of(0, size + 1); // +1 row tells us if there is more
+
+        List<MessageResponse> rows;
+
+        if (forward) {
+            MessageCursor c = MessageCursor.decode(after);
+            rows = newerThan(conversationId, c, size + 1);
+        } else if (before != null) {
+            MessageCursor c = MessageCursor.decode(before);
+            rows = messageRepo.findBefore(conversationId, c.getCreatedAt(), c.getId(), page);
+            rows = withArchived(conversationId, rows, c.getCreatedAt(), c.getId(), size + 1);
+        } else {
+            return loadLatest(conversationId, userId, size);
+        }
+
+        return toPage(rows, size, after);
+    }
+
+    // cache miss: read a whole window's worth so the next open is a hit
+    private MessagePageResponse loadLatest(Long conversationId, Long userId, int size) {
+        long stamp = windowCache.stamp(conversationId);
+        int window = windowCache.getWindowSize();
+        int fetch = Math.max(size, window) + 1;
+
+        List<MessageResponse> newestFirst = messageRepo.findLatest(conversationId, PageRequest.of(0, fetch));
+        newestFirst = withArchived(conversationId, newestFirst, null, null, fetch);
+
+        windowCache.fill(conversationId, userId, newestFirst, newestFirst.size() <= window, stamp);
+
+        return toPage(newestFirst.subList(0, Math.min(newestFirst.size(), size + 1)), size, null);
+    }
+
+    /**
+     * Read-through for paging backwards: if the hot table ran out before
+     * {@code want} rows, continue from the archive below the oldest row
+     * (or below the cursor when the hot table had nothing).
+     */
+    private List<MessageResponse> withArchived(
+            Long conversationId,
+            List<MessageResponse> newestFirst,
+            LocalDateTime createdAt,
+            Long id,
+            int want) {
+
+        if (newestFirst.size() >= want || !archive.hasArchive()) {
+            return newestFirst;
+        }
+
+        if (!newestFirst.isEmpty()) {
+            MessageResponse oldest = newestFirst.get(newestFirst.size() - 1);
+            createdAt = oldest.getCreatedAt();
+            id = oldest.getId();
+        }
+
+        List<MessageResponse> rows = new ArrayList<>(newestFirst);
+        rows.addAll(archive.findBefore(conversationId, createdAt, id, want - newestFirst.size()));
+        return rows;
+    }
+
+    /**
+     * Paging forwards from a cursor: archived history (all older than a
+     * conversation's hot rows) first, then the hot table.
+     */
+    private List<MessageResponse> newerThan(Long conversationId, MessageCursor c, int want) {
+        if (!archive.mayHoldNewerThan(c.getCreatedAt())) {
+            return messageRepo.findAfter(conversationId, c.getCreatedAt(), c.getId(), PageRequest.of(0, want));
+        }
+
+        List<MessageResponse> rows = new ArrayList<>(
+                archive.findAfter(conversationId, c.getCreatedAt(), c.getId(), want));
+
+        if (rows.size() < want) {
+            MessageResponse edge = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            rows.addAll(messageRepo.findAfter(
+                    conversationId,
+                    edge != null ? edge.getCreatedAt() : c.getCreatedAt(),
+                    edge != null ? edge.getId() : c.getId(),
+                    PageRequest.of(0, want - rows.size())));
+        }
+        return rows;
+    }
+
+    /**
+     * Turns up to {@code size + 1} rows in fetch order (newest-first unless
+     * paging forward from {@code after}) into a page; the extra row only
+     * signals hasMore.
+     */
+    private MessagePageResponse toPage(List<MessageResponse> rows, int size, String after) {
+        boolean forward = after != null;
+        boolean hasMore = rows.size() > size;
+
+        List<MessageResponse> messages = rows.stream()
+                .limit(size)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (!forward) {
+            Collections.reverse(messages); // fetched newest-first
+        }
+
+        String nextCursor = null;
+        if (forward) {
+            // always hand back the newest position, so a polling client keeps
+            // its place on the last page (and on an empty one)
+            nextCursor = messages.isEmpty() ? after : MessageCursor.of(messages.get(messages.size() - 1)).encode();
+        } else if (hasMore) {
+            nextCursor = MessageCursor.of(messages.get(0)).encode();
+        }
+
+        return new MessagePageResponse(messages, nextCursor, hasMore);
+    }
+
+    // ================= SEARCH =================
+
+    /**
+     * Full-text search over the caller's conversations (or just one of them),
+     * ranked by relevance and paged with an opaque (rank, id) cursor.
+     */
+    public MessageSearchResponse search(
+            Long userId,
+            String query,
+            Long conversationId,
+            String cursor,
+            int limit) {
+
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+
+        if (conversationId != null && !convoRepo.isParticipant(conversationId, userId)) {
+            throw new RuntimeException("Not allowed");
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        MessageSearchCursor from = cursor != null ? MessageSearchCursor.decode(cursor) : MessageSearchCursor.START;
+
+        List<Object[]> rows = conversationId != null
+                ? messageRepo.searchConversation(query.trim(), conversationId, from.getRank(), from.getId(), size + 1)
+                : messageRepo.search(query.trim(), userId, from.getRank(), from.getId(), size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<MessageSearchHit> results = new ArrayList<>(Math.min(rows.size(), size));
+        String nextCursor = null;
+
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            Object[] row = rows.get(i);
+            results.add(mapHit(row));
+
+            if (hasMore && i == size - 1) {
+                float rank = ((Number) row[7]).floatValue();
+                nextCursor = new MessageSearchCursor(rank, ((Number) row[0]).longValue()).encode();
+            }
+        }
+
+        return new MessageSearchResponse(results, nextCursor, hasMore);
     }
 
     // ================= DELETE MESSAGE =================
-    public void deleteMessage(Long messageId, User user) {
+    @Transactional
+    public void deleteMessage(Long messageId, Long userId) {
         Message msg = messageRepo.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
 
-        if (!msg.getSender().getId().equals(user.getId())) {
+        if (!msg.getSender().getId().equals(userId)) {
             throw new RuntimeException("Not allowed");
         }
 
+        MessageResponse removed = map(msg);
+        Long conversationId = msg.getConversation().getId();
+
         messageRepo.delete(msg);
+        afterCommit(() -> windowCache.onDelete(conversationId, messageId));
+
+        // the inbox preview pointed at this message: fall back to the one before it
+        if (messageId.equals(msg.getConversation().getLastMessageId())) {
+            List<MessageResponse> latest = messageRepo.findLatest(conversationId, PageRequest.of(0, 1));
+            MessageResponse previous = latest.isEmpty() ? null : latest.get(0);
+            convoRepo.replaceLastMessage(
+                    conversationId,
+                    messageId,
+                    previous != null ? previous.getId() : null,
+                    previous != null ? previous.getCreatedAt() : null);
+        }
+
+        events.publishEvent(new ChatMessageEvent(ChatMessageEvent.DELETED, conversationId, removed));
     }
 
     // ================= EDIT MESSAGE =================
-    public MessageResponse editMessage(Long messageId, User user, String newText) {
+    @Transactional
+    public MessageResponse editMessage(Long messageId, Long userId, String newText) {
         Message msg = messageRepo.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
 
-        if (!msg.getSender().getId().equals(user.getId())) {
+        if (!msg.getSender().getId().equals(userId)) {
             throw new RuntimeException("Not allowed");
         }
 
         msg.setContent(newText);
         msg.setEdited(true);
 
-        return map(messageRepo.save(msg));
+        // the inbox preview joins on last_message_id, so it picks up the new
+        // text without touching the conversation row
+
+        MessageResponse response = map(messageRepo.save(msg));
+
+        afterCommit(() -> windowCache.onEdit(msg.getConversation().getId(), response));
+
+        events.publishEvent(new ChatMessageEvent(
+                ChatMessageEvent.EDITED, msg.getConversation().getId(), response));
+
+        return response;
+    }
+
+    // windows only after commit: a read racing the transaction could
+    // otherwise install a window that is missing (or holding a rolled back) write
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     // ================= MAPPER =================
+    private MessageSearchHit mapHit(Object[] row) {
+        MessageSearchHit h = new MessageSearchHit();
+        h.setId(((Number) row[0]).longValue());
+        h.setConversationId(((Number) row[1]).longValue());
+        h.setSenderId(((Number) row[2]).longValue());
+        h.setSenderName((String) row[3]);
+        h.setContent((String) row[4]);
+        h.setEdited(Boolean.TRUE.equals(row[5]));
+        h.setCreatedAt(row[6] instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) row[6]);
+        return h;
+    }
+
     private MessageResponse map(Message m) {
+        return map(m, m.getSender().getEmail());
+    }
+
+    private MessageResponse map(Message m, String senderName) {
         MessageResponse r = new MessageResponse();
         r.setId(m.getId());
         r.setSenderId(m.getSender().getId());
-        r.setSenderName(m.getSender().getEmail());
+        r.setSenderName(senderName);
         r.setContent(m.getContent());
         r.setEdited(m.isEdited());
         r.setCreatedAt(m.getCreatedAt());
@@ -0,0 +1,277 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.dto.MessageResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The newest {@code windowSize} messages of recently read conversations, so
+ * that opening a hot chat serves its latest page without touching the DB.
+ *
+ * Windows are filled from a DB read ({@link #fill}) and then kept current
+ * write-through by {@link MessageService}: sends are appended, edits
+ * replaced and deletes removed in place. Across conversations the cache is
+ * one LRU bounded by the estimated heap size of the cached messages, so a
+ * few long-message chats can't crowd out many short ones by count alone.
+ *
+ * A window only answers users that {@link MessageService} has already
+ * checked are participants ({@code readerId} on {@link #fill}); anyone else
+ * misses and goes through the DB check.
+ *
+ * Like the other in-memory caches here, this assumes a single app instance.
+ * Cached {@link MessageResponse}s are shared and must not be mutated.
+ */
+@Component
+public class MessageWindowCache {
+
+    // rough per-message overhead: object headers, boxed id/senderId, timestamp
+    private static final long MESSAGE_OVERHEAD_BYTES = 160;
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private static final Comparator<MessageResponse> ORDER =
+            Comparator.comparing(MessageResponse::getCreatedAt).thenComparing(MessageResponse::getId);
+
+    private final int windowSize;
+    private final long maxWeightBytes;
+
+    // access-ordered: iteration starts at the least recently used window
+    private final LinkedHashMap<Long, Window> windows = new LinkedHashMap<>(256, 0.75f, true);
+    private long weightBytes; // guarded by this
+
+    // bumped on every write to a conversation, so a DB read that raced with
+    // a write can't install a window that is missing that write
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MessageWindowCache(
+            @Value("${app.chat.message-window.size:100}") int windowSize,
+            @Value("${app.chat.message-window.max-bytes:16777216}") long maxWeightBytes) {
+        this.windowSize = windowSize;
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    // ================= READ =================
+
+    /**
+     * Up to {@code count} newest messages, newest first, or {@code null} if
+     * the window can't answer: not cached, not yet read by {@code readerId},
+     * or holding fewer than {@code count} messages while older history
+     * exists in the DB.
+     */
+    public synchronized List<MessageResponse> latest(Long conversationId, Long readerId, int count) {
+        Window w = windows.get(conversationId);
+
+        if (w == null || !w.readers.contains(readerId) || (w.messages.size() < count && !w.complete)) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        int n = Math.min(count, w.messages.size());
+        List<MessageResponse> out = new ArrayList<>(n);
+        for (int i = w.messages.size() - 1; out.size() < n; i--) {
+            out.add(w.messages.get(i));
+        }
+        return out;
+    }
+
+    /** Read before querying the DB; pass back to {@link #fill}. */
+    public long stamp(Long conversationId) {
+        return stamps.get(stripe(conversationId));
+    }
+
+    /**
+     * Installs a window from a DB read of the newest messages (newest first)
+     * made for {@code readerId}, a verified participant. {@code complete}
+     * means there is no older history. Ignored if the conversation was
+     * written to since {@code stamp} was taken.
+     */
+    public synchronized void fill(
+            Long conversationId, Long readerId, List<MessageResponse> newestFirst, boolean complete, long stamp) {
+        if (stamps.get(stripe(conversationId)) != stamp) {
+            return;
+        }
+
+        Window w = new Window();
+        Window old = windows.get(conversationId);
+        if (old != null) {
+            w.readers.addAll(old.readers); // a conversation's participants never change
+        }
+        w.readers.add(readerId);
+
+        int n = Math.min(newestFirst.size(), windowSize);
+        for (int i = n - 1; i >= 0; i--) {
+            w.add(newestFirst.get(i));
+        }
+        w.complete = complete && n == newestFirst.size();
+
+        replace(conversationId, w);
+    }
+
+    // ================= WRITE-THROUGH =================
+
+    public synchronized void onSend(Long conversationId, MessageResponse message) {
+        bump(conversationId);
+
+        // runs after commit, so a read that started before the commit may
+        // already have filled the window with this message
+        Window w = windows.get(conversationId);
+        if (w == null || w.indexOf(message.getId()) >= 0) {
+            return;
+        }
+
+        // nearly always an append; racing sends may land slightly out of order
+        int at = w.messages.size();
+        while (at > 0 && ORDER.compare(w.messages.get(at - 1), message) > 0) {
+            at--;
+        }
+        w.messages.add(at, message);
+        w.weight += weigh(message);
+        weightBytes += weigh(message);
+
+        while (w.messages.size() > windowSize) {
+            MessageResponse oldest = w.messages.remove(0);
+            w.weight -= weigh(oldest);
+            weightBytes -= weigh(oldest);
+            w.complete = false;
+        }
+
+        evictOverweight();
+    }
+
+    public synchronized void onEdit(Long conversationId, MessageResponse message) {
+        bump(conversationId);
+
+        Window w = windows.get(conversationId);
+        int i = w != null ? w.indexOf(message.getId()) : -1;
+        if (i < 0) {
+            return;
+        }
+
+        long delta = weigh(message) - weigh(w.messages.get(i));
+        w.messages.set(i, message);
+        w.weight += delta;
+        weightBytes += delta;
+
+        evictOverweight();
+    }
+
+    public synchronized void onDelete(Long conversationId, Long messageId) {
+        bump(conversationId);
+
+        Window w = windows.get(conversationId);
+        int i = w != null ? w.indexOf(messageId) : -1;
+        if (i < 0) {
+            return;
+        }
+
+        // still the newest messages in order, just one fewer
+        MessageResponse removed = w.messages.remove(i);
+        w.weight -= weigh(removed);
+        weightBytes -= weigh(removed);
+    }
+
+    public synchronized void invalidate(Long conversationId) {
+        bump(conversationId);
+        Window w = windows.remove(conversationId);
+        if (w != null) {
+            weightBytes -= w.weight;
+        }
+    }
+
+    // ================= STATS =================
+    public synchronized Map<String, Object> stats() {
+        long h = hits.get();
+        long m = misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("conversations", windows.size());
+        stats.put("messages", windows.values().stream().mapToInt(w -> w.messages.size()).sum());
+        stats.put("windowSize", windowSize);
+        stats.put("weightBytes", weightBytes);
+        stats.put("maxWeightBytes", maxWeightBytes);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRatio", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    // ================= INTERNAL =================
+    private void replace(Long conversationId, Window w) {
+        Window old = windows.put(conversationId, w);
+        if (old != null) {
+            weightBytes -= old.weight;
+        }
+        weightBytes += w.weight;
+        evictOverweight();
+    }
+
+    private void evictOverweight() {
+        Iterator<Window> it = windows.values().iterator();
+        while (weightBytes > maxWeightBytes && it.hasNext()) {
+            weightBytes -= it.next().weight;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void bump(Long conversationId) {
+        stamps.incrementAndGet(stripe(conversationId));
+    }
+
+    private static int stripe(Long conversationId) {
+        return (int) Math.floorMod(conversationId, (long) STAMP_STRIPES);
+    }
+
+    static long weigh(MessageResponse m) {
+        long chars = (m.getContent() != null ? m.getContent().length() : 0)
+                + (m.getSenderName() != null ? m.getSenderName().length() : 0);
+        return MESSAGE_OVERHEAD_BYTES + 2 * chars;
+    }
+
+    private static final class Window {
+        // oldest -> newest
+        private final List<MessageResponse> messages = new ArrayList<>();
+        // true when the window holds the conversation's entire history
+        private boolean complete;
+        // participants already checked against the DB
+        private final Set<Long> readers = new HashSet<>(4);
+        private long weight;
+
+        private void add(MessageResponse m) {
+            messages.add(m);
+            weight += weigh(m);
+        }
+
+        private int indexOf(Long messageId) {
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                if (messages.get(i).getId().equals(messageId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
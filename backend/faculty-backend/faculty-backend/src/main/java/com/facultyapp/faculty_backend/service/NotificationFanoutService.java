@@ -0,0 +1,190 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.dto.NotificationFanoutProgress;
+import com.facultyapp.faculty_backend.dto.NotificationResponse;
+import com.facultyapp.faculty_backend.realtime.NotificationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes one notification per user in the background, straight from the
+ * users table (PostgreSQL only).
+ *
+ * Each chunk is a single {@code INSERT ... SELECT} over the next
+ * {@code chunk-size} user ids, committed on its own, so a campus-wide
+ * fan-out is a handful of short statements and its progress is visible
+ * while it runs. Each chunk's rows are pushed to open notification streams
+ * as soon as it commits. Progress lives in memory (single-instance, like the other
+ * caches here) and is lost on restart, along with any unfinished fan-out.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final int MAX_TRACKED_JOBS = 1000;
+
+    private static final String INSERT_CHUNK = """
+            WITH batch AS (
+                SELECT id FROM users WHERE id > ? AND id <> ? ORDER BY id LIMIT ?
+            ), inserted AS (
+                INSERT INTO notifications (id, user_id, category, type, message, context, read, muted, created_at)
+                SELECT nextval('notifications_seq'), id, ?, ?, ?, ?, false, false, ?
+                FROM batch
+                RETURNING id, user_id
+            ), counted AS (
+                INSERT INTO notification_counters (user_id, category, unread)
+                SELECT id, ?, 1 FROM batch
+                ON CONFLICT (user_id, category) DO UPDATE SET unread = notification_counters.unread + 1
+            )
+            SELECT user_id, id FROM inserted ORDER BY user_id
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ThreadPoolExecutor executor;
+    private final ApplicationEventPublisher events;
+    private final int chunkSize;
+
+    // key -> progress, most recent MAX_TRACKED_JOBS only
+    private final Map<String, NotificationFanoutProgress> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NotificationFanoutProgress> eldest) {
+                    return size() > MAX_TRACKED_JOBS;
+                }
+            });
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+
+    public NotificationFanoutService(
+            JdbcTemplate jdbc,
+            @Qualifier("notificationFanoutExecutor") ThreadPoolExecutor executor,
+            ApplicationEventPublisher events,
+            @Value("${app.notifications.fanout.chunk-size:5000}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.executor = executor;
+        this.events = events;
+        this.chunkSize = chunkSize;
+    }
+
+    // ================= SUBMIT =================
+
+    /**
+     * Queues a notification for every user except {@code excludeUserId} and
+     * returns at once. {@code key} names the fan-out for {@link #progress}.
+     */
+    public NotificationFanoutProgress submit(
+            String key,
+            Long excludeUserId,
+            String category,
+            String type,
+            String message,
+            String context) {
+
+        NotificationFanoutProgress progress = new NotificationFanoutProgress(key);
+        jobs.put(key, progress);
+
+        try {
+            executor.execute(() -> run(progress, excludeUserId, category, type, message, context));
+        } catch (RejectedExecutionException e) {
+            fail(progress, "Fan-out queue is full");
+            log.warn("Notification fan-out {} rejected: queue is full", key);
+        }
+
+        return progress;
+    }
+
+    public NotificationFanoutProgress progress(String key) {
+        return jobs.get(key);
+    }
+
+    // ================= WORKER =================
+    private void run(
+            NotificationFanoutProgress progress,
+            Long excludeUserId,
+            String category,
+            String type,
+            String message,
+            String context) {
+
+        progress.setStatus(NotificationFanoutProgress.RUNNING);
+        progress.setStartedAt(LocalDateTime.now());
+
+        try {
+            progress.setTotal(jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM users WHERE id <> ?", Long.class, excludeUserId));
+
+            Timestamp createdAt = Timestamp.valueOf(progress.getQueuedAt());
+            long afterId = 0;
+
+            while (true) {
+                // (user, notification), by user id
+                List<long[]> chunk = jdbc.query(INSERT_CHUNK,
+                        (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) },
+                        afterId, excludeUserId, chunkSize,
+                        category, type, message, context, createdAt,
+                        category);
+
+                progress.setDelivered(progress.getDelivered() + chunk.size());
+                delivered.addAndGet(chunk.size());
+
+                // 📡 LIVE: the chunk is committed already (no surrounding transaction)
+                List<NotificationEvent> notified = chunk.stream()
+                        .map(row -> NotificationEvent.forUser(row[0], new NotificationResponse(
+                                row[1], false, category, type, message, context, null,
+                                false, false, 1, progress.getQueuedAt())))
+                        .toList();
+                notified.forEach(events::publishEvent);
+
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1)[0];
+            }
+
+            progress.setStatus(NotificationFanoutProgress.DONE);
+            progress.setFinishedAt(LocalDateTime.now());
+            completed.incrementAndGet();
+
+        } catch (RuntimeException e) {
+            fail(progress, e.getMessage());
+            log.error("Notification fan-out {} failed after {} rows", progress.getKey(), progress.getDelivered(), e);
+        }
+    }
+
+    private void fail(NotificationFanoutProgress progress, String error) {
+        progress.setError(error);
+        progress.setStatus(NotificationFanoutProgress.FAILED);
+        progress.setFinishedAt(LocalDateTime.now());
+        failed.incrementAndGet();
+    }
+
+    // ================= STATS =================
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", executor.getQueue().size());
+        stats.put("running", executor.getActiveCount());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("delivered", delivered.get());
+        stats.put("chunkSize", chunkSize);
+        return stats;
+    }
+}
@@ -0,0 +1,359 @@
+package com.facultyapp.faculty_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes old notifications so the table stops growing forever
+ * (PostgreSQL only).
+ *
+ * A policy is a pair of ages: read notifications go after {@code read-days},
+ * unread ones after {@code unread-days}; 0 keeps them. Categories can
+ * override the defaults with {@code policies}, e.g.
+ * {@code Meetings:14:90,Admin:30:365} (category:readDays:unreadDays).
+ * Broadcasts have no single read flag, so they follow the unread age.
+ *
+ * The table is walked in (created_at, id) order, only as far as the
+ * youngest cutoff of any policy, in windows of {@code chunk-size} rows.
+ * Each window is one short statement in its own transaction that also
+ * keeps the unread counters in step, with a pause between windows so
+ * vacuum and replicas keep up. (Ids don't follow time: they come from a
+ * pooled sequence.)
+ *
+ * The cron only hands the run to {@code notificationRetentionExecutor}: the
+ * pauses would otherwise hold Spring's single scheduler thread and delay
+ * every other scheduled task (stream heartbeats, rate-limit eviction). A
+ * run that is still going when the next one is due makes that one a no-op.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    // "keep": a cutoff nothing is older than
+    private static final LocalDateTime KEEP = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    private static final String PURGE_WINDOW = """
+            WITH policy (category, read_before, unread_before) AS (
+                VALUES %s
+            ), scanned AS (
+                SELECT id, created_at FROM notifications
+                WHERE (created_at, id) > (?, ?) AND created_at < ?
+                ORDER BY created_at, id LIMIT ?
+            ), last AS (
+                SELECT created_at, id FROM scanned ORDER BY created_at DESC, id DESC LIMIT 1
+            ), gone AS (
+                DELETE FROM notifications n
+                USING scanned s
+                WHERE n.id = s.id
+                  AND n.created_at < CASE WHEN n.read
+                      THEN COALESCE((SELECT p.read_before FROM policy p WHERE p.category = n.category), ?)
+                      ELSE COALESCE((SELECT p.unread_before FROM policy p WHERE p.category = n.category), ?)
+                  END
+                RETURNING n.user_id, n.category, n.read
+            ), locked AS (
+                SELECT c.user_id, c.category FROM notification_counters c
+                WHERE (c.user_id, c.category) IN (SELECT user_id, category FROM gone WHERE NOT read)
+                ORDER BY c.user_id, c.category -- same lock order as the broadcast and fan-out upserts
+                FOR UPDATE
+            ), counted AS (
+                UPDATE notification_counters c SET unread = GREATEST(c.unread - x.n, 0)
+                FROM locked l
+                JOIN (SELECT user_id, category, COUNT(*) AS n FROM gone WHERE NOT read GROUP BY user_id, category) x
+                  ON x.user_id = l.user_id AND x.category = l.category
+                WHERE c.user_id = l.user_id AND c.category = l.category
+            )
+            SELECT (SELECT COUNT(*) FROM scanned), (SELECT created_at FROM last), (SELECT id FROM last),
+                   (SELECT COUNT(*) FROM gone)
+            """;
+
+    // broadcasts are few; unread counts for them are derived, nothing to adjust
+    private static final String PURGE_BROADCASTS = """
+            WITH policy (category, read_before, unread_before) AS (
+                VALUES %s
+            )
+            DELETE FROM broadcast_notifications b
+            WHERE b.id IN (
+                SELECT id FROM broadcast_notifications
+                WHERE created_at < COALESCE((SELECT p.unread_before FROM policy p WHERE p.category = broadcast_notifications.category), ?)
+                ORDER BY id LIMIT ?
+            )
+            RETURNING b.id
+            """;
+
+    private static final String PURGE_STATES = """
+            DELETE FROM broadcast_notification_states
+            WHERE broadcast_id = ? AND user_id IN (
+                SELECT user_id FROM broadcast_notification_states
+                WHERE broadcast_id = ? ORDER BY user_id LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final Policy defaults;
+    private final Map<String, Policy> policies;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    private final String purgeWindowSql;
+    private final String purgeBroadcastsSql;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong purgedBroadcasts = new AtomicLong();
+    private final AtomicLong purgedStates = new AtomicLong();
+    private volatile long lastRunPurged;
+    private volatile long lastRunChunks;
+    private volatile long lastRunMillis;
+    private volatile LocalDateTime lastRunAt;
+    private volatile boolean running;
+
+    public NotificationRetentionService(
+            JdbcTemplate jdbc,
+            @Qualifier("notificationRetentionExecutor") ThreadPoolExecutor executor,
+            @Value("${app.notifications.retention.enabled:false}") boolean enabled,
+            @Value("${app.notifications.retention.read-days:30}") int readDays,
+            @Value("${app.notifications.retention.unread-days:180}") int unreadDays,
+            @Value("${app.notifications.retention.policies:}") String policies,
+            @Value("${app.notifications.retention.chunk-size:1000}") int chunkSize,
+            @Value("${app.notifications.retention.pause-ms:100}") long pauseMillis) {
+        this.jdbc = jdbc;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.defaults = new Policy(readDays, unreadDays);
+        this.policies = parsePolicies(policies);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+
+        String values = this.policies.isEmpty()
+                ? "(NULL::varchar, NULL::timestamp, NULL::timestamp)"
+                : String.join(", ", Collections.nCopies(this.policies.size(), "(?::varchar, ?::timestamp, ?::timestamp)"));
+        this.purgeWindowSql = PURGE_WINDOW.formatted(values);
+        this.purgeBroadcastsSql = PURGE_BROADCASTS.formatted(values);
+    }
+
+    // ================= RETENTION JOB =================
+    @Scheduled(cron = "${app.notifications.retention.cron:0 15 4 * * *}")
+    public void schedulePurge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(this::purgeExpired);
+        } catch (RejectedExecutionException e) {
+            log.warn("Notification retention is still running; skipping this run");
+        }
+    }
+
+    /** One full run on the calling thread; see {@link #schedulePurge}. */
+    public void purgeExpired() {
+
+        running = true;
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        long chunks = 0;
+
+        try {
+            // nothing newer than this can match any policy; ends the walk
+            LocalDateTime youngest = KEEP;
+            for (Policy p : allPolicies()) {
+                youngest = max(youngest, max(p.readBefore(now), p.unreadBefore(now)));
+            }
+
+            Timestamp afterCreatedAt = Timestamp.valueOf(KEEP);
+            long afterId = 0;
+
+            while (youngest.isAfter(KEEP)) {
+                Object[] w = jdbc.queryForObject(purgeWindowSql,
+                        (rs, i) -> new Object[] { rs.getLong(1), rs.getTimestamp(2), rs.getLong(3), rs.getLong(4) },
+                        windowArgs(now, youngest, afterCreatedAt, afterId));
+
+                long scanned = (Long) w[0];
+                long deleted = (Long) w[3];
+                total += deleted;
+                chunks++;
+                purged.addAndGet(deleted);
+
+                if (scanned < chunkSize) {
+                    break;
+                }
+                afterCreatedAt = (Timestamp) w[1];
+                afterId = (Long) w[2];
+                pause();
+            }
+
+            chunks += purgeBroadcasts(now);
+
+            runs.incrementAndGet();
+            log.info("Notification retention purged {} notifications in {} chunks", total, chunks);
+
+        } catch (RuntimeException e) {
+            // the next run carries on from wherever this one stopped
+            failures.incrementAndGet();
+            log.error("Notification retention failed after {} rows", total, e);
+
+        } finally {
+            lastRunPurged = total;
+            lastRunChunks = chunks;
+            lastRunMillis = (System.nanoTime() - started) / 1_000_000;
+            lastRunAt = LocalDateTime.now();
+            running = false;
+        }
+    }
+
+    private long purgeBroadcasts(LocalDateTime now) {
+        List<Object> args = policyArgs(now);
+        args.add(Timestamp.valueOf(defaults.unreadBefore(now)));
+        args.add(chunkSize);
+        Object[] broadcastArgs = args.toArray();
+
+        long chunks = 0;
+        List<Long> ids;
+        do {
+            ids = jdbc.queryForList(purgeBroadcastsSql, Long.class, broadcastArgs);
+            purgedBroadcasts.addAndGet(ids.size());
+            chunks++;
+
+            // no FK: the broadcast is already gone from every feed, so its
+            // state rows can follow at their own pace
+            for (Long id : ids) {
+                int n;
+                do {
+                    pause();
+                    n = jdbc.update(PURGE_STATES, id, id, chunkSize);
+                    purgedStates.addAndGet(n);
+                    chunks++;
+                } while (n == chunkSize);
+            }
+        } while (ids.size() == chunkSize);
+
+        return chunks;
+    }
+
+    // ================= STATS =================
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("readDays", defaults.readDays);
+        stats.put("unreadDays", defaults.unreadDays);
+        stats.put("policies", policies.toString());
+        stats.put("chunkSize", chunkSize);
+        stats.put("pauseMs", pauseMillis);
+        stats.put("running", running);
+        stats.put("runs", runs.get());
+        stats.put("failures", failures.get());
+        stats.put("purged", purged.get());
+        stats.put("purgedBroadcasts", purgedBroadcasts.get());
+        stats.put("purgedBroadcastStates", purgedStates.get());
+        stats.put("lastRunPurged", lastRunPurged);
+        stats.put("lastRunChunks", lastRunChunks);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunAt", lastRunAt);
+        return stats;
+    }
+
+    // ================= INTERNAL =================
+
+    // bind order: policy VALUES, scanned (after key, youngest, limit), default cutoffs
+    private Object[] windowArgs(LocalDateTime now, LocalDateTime youngest, Timestamp afterCreatedAt, long afterId) {
+        List<Object> args = policyArgs(now);
+        args.add(afterCreatedAt);
+        args.add(afterId);
+        args.add(Timestamp.valueOf(youngest));
+        args.add(chunkSize);
+        args.add(Timestamp.valueOf(defaults.readBefore(now)));
+        args.add(Timestamp.valueOf(defaults.unreadBefore(now)));
+        return args.toArray();
+    }
+
+    private List<Object> policyArgs(LocalDateTime now) {
+        List<Object> args = new ArrayList<>();
+        policies.forEach((category, p) -> {
+            args.add(category);
+            args.add(Timestamp.valueOf(p.readBefore(now)));
+            args.add(Timestamp.valueOf(p.unreadBefore(now)));
+        });
+        return args;
+    }
+
+    private List<Policy> allPolicies() {
+        List<Policy> all = new ArrayList<>(policies.values());
+        all.add(defaults);
+        return all;
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Notification retention interrupted");
+        }
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    // "Meetings:14:90,Admin:30:365"
+    private static Map<String, Policy> parsePolicies(String spec) {
+        Map<String, Policy> out = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return out;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Bad notification retention policy: " + entry);
+            }
+            out.put(parts[0].trim(), new Policy(Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim())));
+        }
+        return out;
+    }
+
+    private static final class Policy {
+        private final int readDays;
+        private final int unreadDays;
+
+        private Policy(int readDays, int unreadDays) {
+            this.readDays = readDays;
+            this.unreadDays = unreadDays;
+        }
+
+        @Override
+        public String toString() {
+            return readDays + ":" + unreadDays;
+        }
+
+        LocalDateTime readBefore(LocalDateTime now) {
+            return readDays > 0 ? now.minusDays(readDays) : KEEP;
+        }
+
+        LocalDateTime unreadBefore(LocalDateTime now) {
+            return unreadDays > 0 ? now.minusDays(unreadDays) : KEEP;
+        }
+    }
+}
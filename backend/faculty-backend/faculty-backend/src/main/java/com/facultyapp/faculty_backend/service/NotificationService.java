@@ -1,21 +1,62 @@
 package com.facultyapp.faculty_backend.service;
 
+import com.facultyapp.faculty_backend.dto.MessageCursor;
+import com.facultyapp.faculty_backend.dto.NotificationPageResponse;
+import com.facultyapp.faculty_backend.dto.NotificationResponse;
+import com.facultyapp.faculty_backend.dto.UnreadCountResponse;
+import com.facultyapp.faculty_backend.entity.BroadcastNotification;
 import com.facultyapp.faculty_backend.entity.Notification;
 import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.realtime.NotificationEvent;
+import com.facultyapp.faculty_backend.repository.BroadcastNotificationRepository;
+import com.facultyapp.faculty_backend.repository.BroadcastNotificationStateRepository;
+import com.facultyapp.faculty_backend.repository.NotificationCounterRepository;
 import com.facultyapp.faculty_backend.repository.NotificationRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class NotificationService {
 
     private final NotificationRepository repo;
+    private final BroadcastNotificationRepository broadcastRepo;
+    private final BroadcastNotificationStateRepository broadcastStateRepo;
+    private final NotificationCounterRepository counterRepo;
+    private final ApplicationEventPublisher events;
 
-    public NotificationService(NotificationRepository repo) {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_IDS = 1000;
+
+    // stands in for "no id filter"; never bound as a real filter
+    private static final List<Long> NO_IDS = List.of(-1L);
+
+    // first page: everything is "before" this position
+    private static final MessageCursor FEED_START = new MessageCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    // always present in the unread badge response, even at zero
+    private static final List<String> CATEGORIES = List.of("Admin", "Meetings", "Classes", "Submissions");
+
+    public NotificationService(
+            NotificationRepository repo,
+            BroadcastNotificationRepository broadcastRepo,
+            BroadcastNotificationStateRepository broadcastStateRepo,
+            NotificationCounterRepository counterRepo,
+            ApplicationEventPublisher events) {
         this.repo = repo;
+        this.broadcastRepo = broadcastRepo;
+        this.broadcastStateRepo = broadcastStateRepo;
+        this.counterRepo = counterRepo;
+        this.events = events;
     }
 
+    @Transactional
     public void create(
             User user,
             String category,
@@ -31,30 +72,207 @@ public class NotificationService {
         n.setContext(context);
 
         repo.save(n);
+        counterRepo.increment(user.getId(), category);
+
+        // 📡 LIVE (after commit, see NotificationStreamRegistry)
+        events.publishEvent(NotificationEvent.forUser(user.getId(), new NotificationResponse(
+                n.getId(), false, category, type, message, context, null, false, false, 1, n.getCreatedAt())));
+    }
+
+    /**
+     * "new message" notification for a chat. A burst of messages into the
+     * same conversation leaves one unread notification whose count and
+     * timestamp follow the latest message, not one row per message.
+     */
+    public void createForConversation(
+            User user,
+            Long conversationId,
+            String category,
+            String message,
+            String context) {
+
+        Object[] row = repo.upsertForConversation(
+                user.getId(), conversationId, category, message, context, LocalDateTime.now()).get(0);
+
+        // 📡 LIVE: a bump is pushed again, same id, new count
+        events.publishEvent(NotificationEvent.forUser(user.getId(), new NotificationResponse(
+                ((Number) row[0]).longValue(), false, category, "new_message", message, context, conversationId,
+                false, false, ((Number) row[1]).intValue(), (LocalDateTime) row[2])));
+    }
+
+    /**
+     * One row for everyone except {@code senderId}, instead of one per user
+     * (fan-out on read, see {@link #getMyNotifications}).
+     */
+    public void broadcast(
+            Long senderId,
+            String category,
+            String type,
+            String message,
+            String context) {
+
+        BroadcastNotification b = new BroadcastNotification();
+        b.setSenderId(senderId);
+        b.setCategory(category);
+        b.setType(type);
+        b.setMessage(message);
+        b.setContext(context);
+
+        broadcastRepo.save(b);
+
+        events.publishEvent(NotificationEvent.forEveryoneBut(senderId, new NotificationResponse(
+                b.getId(), true, category, type, message, context, null, false, false, 1, b.getCreatedAt())));
     }
 
-    public List<Notification> getMyNotifications(User user) {
-        return repo.findByUserOrderByCreatedAtDesc(user);
+    public void markConversationRead(Long userId, Long conversationId) {
+        repo.markConversationRead(userId, conversationId);
     }
 
-    public void markAsRead(Long id, User user) {
-        Notification n = repo.findById(id).orElseThrow();
+    // ================= UNREAD BADGE =================
+    public UnreadCountResponse getUnreadCount(Long userId) {
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        CATEGORIES.forEach(c -> byCategory.put(c, 0L));
 
-        if (!n.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Not allowed");
+        long total = 0;
+        for (Object[] row : counterRepo.findUnread(userId)) {
+            long n = ((Number) row[1]).longValue();
+            byCategory.merge((String) row[0], n, Long::sum);
+            total += n;
         }
 
-        n.setRead(true);
-        repo.save(n);
+        return new UnreadCountResponse(total, byCategory);
+    }
+
+    // ================= FEED =================
+
+    /**
+     * One page of the user's notifications, newest first. {@code cursor} is
+     * the previous page's {@code nextCursor}; {@code category} and
+     * {@code unreadOnly} narrow the feed.
+     */
+    public NotificationPageResponse getMyNotifications(
+            Long userId,
+            String cursor,
+            int limit,
+            String category,
+            boolean unreadOnly) {
+
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        MessageCursor from = cursor != null ? MessageCursor.decode(cursor) : FEED_START;
+
+        // +1 row tells us if there is more
+        List<NotificationResponse> rows = repo.findPage(
+                        userId, from.getCreatedAt(), from.getId(), category, unreadOnly, size + 1)
+                .stream()
+                .map(NotificationService::toResponse)
+                .toList();
+
+        boolean hasMore = rows.size() > size;
+        List<NotificationResponse> page = hasMore ? rows.subList(0, size) : rows;
+
+        String next = null;
+        if (hasMore) {
+            NotificationResponse last = page.get(page.size() - 1);
+            next = new MessageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new NotificationPageResponse(page, next, hasMore);
     }
 
-    public void delete(Long id, User user) {
-        Notification n = repo.findById(id).orElseThrow();
+    /**
+     * Up to {@code limit} feed entries after {@code cursor}, oldest first;
+     * what a notification stream missed while disconnected.
+     */
+    public List<NotificationResponse> findSince(Long userId, MessageCursor cursor, int limit) {
+        return repo.findAfter(userId, cursor.getCreatedAt(), cursor.getId(), limit)
+                .stream()
+                .map(NotificationService::toResponse)
+                .toList();
+    }
+
+    // ids are unique across personal and broadcast notifications
+    public void markAsRead(Long id, Long userId) {
+        Optional<Notification> personal = repo.findById(id);
+
+        if (personal.isEmpty()) {
+            requireBroadcast(id);
+            broadcastStateRepo.markRead(id, userId);
+            return;
+        }
+
+        requireOwner(personal.get(), userId);
+
+        repo.markRead(id);
+    }
+
+    // deleting a broadcast only hides it for this user
+    public void delete(Long id, Long userId) {
+        Optional<Notification> personal = repo.findById(id);
+
+        if (personal.isEmpty()) {
+            requireBroadcast(id);
+            broadcastStateRepo.dismiss(id, userId);
+            return;
+        }
+
+        requireOwner(personal.get(), userId);
 
-        if (!n.getUser().getId().equals(user.getId())) {
+        repo.deleteCounted(id);
+    }
+
+    private static void requireOwner(Notification n, Long userId) {
+        if (!n.getUser().getId().equals(userId)) {
             throw new RuntimeException("Not allowed");
         }
+    }
+
+    // ================= BULK =================
+
+    /**
+     * Marks the caller's notifications read in one statement, narrowed by
+     * any of {@code ids}, {@code category} and {@code before} (inclusive);
+     * none given means all. Returns how many changed.
+     */
+    public long markAllAsRead(Long userId, List<Long> ids, String category, LocalDateTime before) {
+        boolean allIds = checkIds(ids);
+        if (allIds && category == null) {
+            // one broadcast read mark instead of a state row per broadcast
+            return repo.markAllReadBefore(userId, before);
+        }
+        return repo.markAllRead(userId, allIds, allIds ? NO_IDS : ids, category, before);
+    }
+
+    // same selectors as markAllAsRead; broadcasts are only hidden for the caller
+    public long deleteAll(Long userId, List<Long> ids, String category, LocalDateTime before) {
+        boolean allIds = checkIds(ids);
+        return repo.deleteAll(userId, allIds, allIds ? NO_IDS : ids, category, before);
+    }
+
+    private static boolean checkIds(List<Long> ids) {
+        if (ids != null && ids.size() > MAX_BULK_IDS) {
+            throw new RuntimeException("Too many ids (max " + MAX_BULK_IDS + ")");
+        }
+        return ids == null || ids.isEmpty();
+    }
+
+    private void requireBroadcast(Long id) {
+        if (!broadcastRepo.existsById(id)) {
+            throw new RuntimeException("Notification not found");
+        }
+    }
 
-        repo.delete(n);
+    private static NotificationResponse toResponse(Object[] row) {
+        return new NotificationResponse(
+                ((Number) row[0]).longValue(),
+                (Boolean) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                row[6] != null ? ((Number) row[6]).longValue() : null,
+                (Boolean) row[7],
+                (Boolean) row[8],
+                ((Number) row[9]).intValue(),
+                (LocalDateTime) row[10]);
     }
 }
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import com.facultyapp.faculty_backend.entity.User;
 import com.facultyapp.faculty_backend.repository.UserRepository;
+import com.facultyapp.faculty_backend.security.PrincipalCache;
 
 @Service
 public class PasswordResetService {
@@ -17,14 +18,17 @@ public class PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JavaMailSender mailSender;
+    private final PrincipalCache principalCache;
 
     public PasswordResetService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            JavaMailSender mailSender) {
+            JavaMailSender mailSender,
+            PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.mailSender = mailSender;
+        this.principalCache = principalCache;
     }
 
     // ==========================
@@ -72,6 +76,12 @@ public class PasswordResetService {
         user.setResetToken(null);
         user.setResetTokenExpiry(null);
 
+        // sign out every existing session
+        user.setTokenVersion(user.getTokenVersion() + 1);
+
         userRepository.save(user);
+
+        // cached principal still holds the old password hash and version
+        principalCache.invalidate(user.getEmail());
     }
 }
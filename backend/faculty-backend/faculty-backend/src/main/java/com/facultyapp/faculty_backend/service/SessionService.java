@@ -0,0 +1,49 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import com.facultyapp.faculty_backend.security.JwtUtil;
+import com.facultyapp.faculty_backend.security.PrincipalCache;
+import com.facultyapp.faculty_backend.security.TokenRevocationList;
+import com.facultyapp.faculty_backend.security.VerifiedToken;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SessionService {
+
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final PrincipalCache principalCache;
+
+    public SessionService(
+            UserRepository userRepository,
+            JwtUtil jwtUtil,
+            TokenRevocationList revocationList,
+            PrincipalCache principalCache) {
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.revocationList = revocationList;
+        this.principalCache = principalCache;
+    }
+
+    // ================= LOGOUT (this token only) =================
+    public void logout(String token) {
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        if (verified.getTokenId() != null) {
+            revocationList.revoke(verified.getTokenId(), verified.getExpiresAt());
+            return;
+        }
+
+        // tokens issued before jti existed can only be revoked all at once
+        userRepository.findByEmail(verified.getSubject())
+                .ifPresent(this::revokeAll);
+    }
+
+    // ================= REVOKE EVERY TOKEN OF A USER =================
+    public void revokeAll(User user) {
+        userRepository.incrementTokenVersion(user.getId());
+        principalCache.invalidate(user.getEmail());
+    }
+}
@@ -30,9 +30,9 @@ public class UserService {
         return userRepository.findByRole(Role.FACULTY);
     }
 
-    public List<User> getChatUsers(User me) {
+    public List<User> getChatUsers(Long myId) {
         return userRepository.findAll().stream()
-                .filter(u -> !u.getId().equals(me.getId())) // exclude self
+                .filter(u -> !u.getId().equals(myId)) // exclude self
                 .filter(u -> u.getRole().name().equals("ADMIN")
                         || u.getRole().name().equals("FACULTY"))
                 .toList();
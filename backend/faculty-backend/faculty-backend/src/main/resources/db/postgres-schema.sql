@@ -0,0 +1,203 @@
+-- PostgreSQL-only schema pieces that JPA annotations cannot express.
+-- Applied by DatabaseSchemaInitializer after Hibernate's ddl-auto on every
+-- startup, so every statement here must be idempotent.
+
+-- ============================================================
+-- ID SEQUENCES
+-- Tables created before the switch from IDENTITY already hold rows; move
+-- each pooled sequence (increment 50) past the current max id.
+-- ============================================================
+SELECT setval('users_seq', GREATEST((SELECT last_value FROM users_seq), (SELECT COALESCE(MAX(id), 0) FROM users) + 50));
+SELECT setval('faculty_seq', GREATEST((SELECT last_value FROM faculty_seq), (SELECT COALESCE(MAX(id), 0) FROM faculty) + 50));
+SELECT setval('conversations_seq', GREATEST((SELECT last_value FROM conversations_seq), (SELECT COALESCE(MAX(id), 0) FROM conversations) + 50));
+SELECT setval('messages_seq', GREATEST((SELECT last_value FROM messages_seq), (SELECT COALESCE(MAX(id), 0) FROM messages) + 50));
+SELECT setval('notifications_seq', GREATEST((SELECT last_value FROM notifications_seq), (SELECT COALESCE(MAX(id), 0) FROM notifications) + 50));
+SELECT setval('calendar_events_seq', GREATEST((SELECT last_value FROM calendar_events_seq), (SELECT COALESCE(MAX(id), 0) FROM calendar_events) + 50));
+
+-- ============================================================
+-- READ MARKS
+-- Marks are (created_at, id) because pooled ids don't follow time. Older
+-- rows only hold the message id: take that message's created_at, or the
+-- time the mark was set if the message is gone. Runs before the pair
+-- fold below, which compares marks. The unread count and history paging
+-- now share idx_messages_conversation_created_id_sender, which replaces
+-- the two older message indexes.
+-- ============================================================
+UPDATE conversation_reads r
+SET last_read_at = COALESCE((SELECT m.created_at FROM messages m WHERE m.id = r.last_read_message_id), r.updated_at)
+WHERE r.last_read_at IS NULL;
+
+DROP INDEX IF EXISTS idx_messages_conversation_created_id;
+DROP INDEX IF EXISTS idx_messages_conversation_id_sender;
+
+-- ============================================================
+-- CONVERSATION PAIRS
+-- A private conversation is stored once per pair as (min, max) user id.
+-- Older rows may have either order and may be duplicated by racing
+-- creates: fold duplicates into the oldest conversation, together with
+-- everything that points at them (messages, chat notifications, read
+-- marks), canonicalise, then enforce uniqueness.
+-- ============================================================
+
+-- chat notifications first: at most one unread per user across the pair,
+-- as CHAT NOTIFICATION COALESCING below keeps it, so moving them can't
+-- trip uk_notifications_unread_conversation if that already exists
+WITH d AS (
+    SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id
+    FROM conversations
+), ranked AS (
+    SELECT n.id, FIRST_VALUE(n.id) OVER (PARTITION BY n.user_id, d.keep_id ORDER BY n.created_at DESC, n.id DESC) AS keep_id
+    FROM notifications n
+    JOIN d ON d.id = n.conversation_id
+    WHERE n.type = 'new_message' AND n.read = false
+      AND d.keep_id IN (SELECT keep_id FROM d WHERE id <> keep_id)
+), gone AS (
+    DELETE FROM notifications n USING ranked r
+    WHERE n.id = r.id AND r.id <> r.keep_id
+    RETURNING r.keep_id, n.user_id, n.category, n.repeat_count
+), kept AS (
+    UPDATE notifications n SET repeat_count = n.repeat_count + g.total
+    FROM (SELECT keep_id, SUM(repeat_count) AS total FROM gone GROUP BY keep_id) g
+    WHERE n.id = g.keep_id
+)
+UPDATE notification_counters c SET unread = GREATEST(c.unread - g.n, 0)
+FROM (SELECT user_id, category, COUNT(*) AS n FROM gone GROUP BY user_id, category) g
+WHERE c.user_id = g.user_id AND c.category = g.category;
+
+UPDATE notifications n SET conversation_id = d.keep_id
+FROM (SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id FROM conversations) d
+WHERE n.conversation_id = d.id AND d.id <> d.keep_id;
+
+-- read marks (backfilled above): a user's furthest mark across the pair wins
+INSERT INTO conversation_reads (conversation_id, user_id, last_read_message_id, last_read_at, updated_at)
+SELECT DISTINCT ON (d.keep_id, r.user_id) d.keep_id, r.user_id, r.last_read_message_id, r.last_read_at, r.updated_at
+FROM conversation_reads r
+JOIN (SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id FROM conversations) d
+  ON d.id = r.conversation_id
+WHERE d.id <> d.keep_id
+ORDER BY d.keep_id, r.user_id, r.last_read_at DESC, r.last_read_message_id DESC
+ON CONFLICT (conversation_id, user_id) DO UPDATE
+SET last_read_message_id = EXCLUDED.last_read_message_id,
+    last_read_at = EXCLUDED.last_read_at,
+    updated_at = EXCLUDED.updated_at
+WHERE (EXCLUDED.last_read_at, EXCLUDED.last_read_message_id)
+    > (conversation_reads.last_read_at, conversation_reads.last_read_message_id);
+
+DELETE FROM conversation_reads r
+USING (SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id FROM conversations) d
+WHERE r.conversation_id = d.id AND d.id <> d.keep_id;
+
+-- the survivor's inbox pointer may now miss newer moved messages;
+-- CONVERSATION LAST MESSAGE below refills it
+UPDATE conversations c SET last_message_id = NULL, last_message_at = NULL
+FROM (SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id FROM conversations) d
+WHERE c.id = d.keep_id AND d.id <> d.keep_id;
+
+UPDATE messages m SET conversation_id = d.keep_id
+FROM (SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id FROM conversations) d
+WHERE m.conversation_id = d.id AND d.id <> d.keep_id;
+
+DELETE FROM conversations c
+USING (SELECT id, MIN(id) OVER (PARTITION BY LEAST(user1_id, user2_id), GREATEST(user1_id, user2_id)) AS keep_id FROM conversations) d
+WHERE c.id = d.id AND d.id <> d.keep_id;
+
+UPDATE conversations SET user1_id = user2_id, user2_id = user1_id WHERE user1_id > user2_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_conversations_pair ON conversations (user1_id, user2_id);
+
+-- ============================================================
+-- CONVERSATION LAST MESSAGE
+-- Backfill the inbox pointer for conversations that predate it; one index
+-- probe per conversation via idx_messages_conversation_created_id_sender.
+-- ============================================================
+UPDATE conversations c SET last_message_id = l.id, last_message_at = l.created_at
+FROM conversations c2
+CROSS JOIN LATERAL (
+    SELECT m.id, m.created_at FROM messages m
+    WHERE m.conversation_id = c2.id
+    ORDER BY m.created_at DESC, m.id DESC
+    LIMIT 1
+) l
+WHERE c.id = c2.id AND c.last_message_id IS NULL;
+
+-- ============================================================
+-- MESSAGE FULL-TEXT SEARCH
+-- Stored generated column: PostgreSQL recomputes it on every INSERT and
+-- UPDATE of content (send / edit), and it disappears with the row on
+-- delete, so the GIN index never drifts from the messages. Not mapped in
+-- JPA; only MessageRepository#search reads it (messages_archive has the
+-- same column, below).
+-- ============================================================
+ALTER TABLE messages ADD COLUMN IF NOT EXISTS content_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_messages_content_tsv ON messages USING GIN (content_tsv);
+
+-- ============================================================
+-- MESSAGE ARCHIVE
+-- Cold history moved out of messages by MessageArchiveService. Monthly
+-- range partitions on created_at are created by the job as it needs them.
+-- Kept out of JPA: Hibernate can't create a partitioned parent table.
+-- ============================================================
+CREATE TABLE IF NOT EXISTS messages_archive (
+    id bigint NOT NULL,
+    conversation_id bigint NOT NULL,
+    sender_id bigint,
+    content varchar(2000) NOT NULL,
+    edited boolean NOT NULL,
+    created_at timestamp(6) NOT NULL
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_messages_archive_conversation_created_id
+    ON messages_archive (conversation_id, created_at, id);
+
+-- archived messages stay searchable: same generated column and GIN index
+-- as the hot table, on every partition
+ALTER TABLE messages_archive ADD COLUMN IF NOT EXISTS content_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_messages_archive_content_tsv ON messages_archive USING GIN (content_tsv);
+
+-- lets the archival job skip each conversation's newest message cheaply
+CREATE INDEX IF NOT EXISTS idx_conversations_last_message ON conversations (last_message_id);
+
+-- ============================================================
+-- NOTIFICATION COUNTERS
+-- Unread badges are read from notification_counters, which every write
+-- path keeps in step. Seeded from existing notifications only while the
+-- table is empty (first start); from then on the app maintains it.
+-- ============================================================
+INSERT INTO notification_counters (user_id, category, unread)
+SELECT user_id, category, COUNT(*) FROM notifications
+WHERE read = false AND category IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM notification_counters)
+GROUP BY user_id, category;
+
+-- ============================================================
+-- CHAT NOTIFICATION COALESCING
+-- At most one unread new_message notification per (user, conversation);
+-- later messages bump its repeat_count and created_at instead of adding
+-- rows (NotificationRepository#upsertForConversation). Older data may hold
+-- several: fold them into the newest, keeping the counters in step, then
+-- enforce it.
+-- ============================================================
+WITH ranked AS (
+    SELECT id, FIRST_VALUE(id) OVER (PARTITION BY user_id, conversation_id ORDER BY created_at DESC, id DESC) AS keep_id
+    FROM notifications
+    WHERE type = 'new_message' AND read = false AND conversation_id IS NOT NULL
+), gone AS (
+    DELETE FROM notifications n USING ranked r
+    WHERE n.id = r.id AND r.id <> r.keep_id
+    RETURNING r.keep_id, n.user_id, n.category, n.repeat_count
+), kept AS (
+    UPDATE notifications n SET repeat_count = n.repeat_count + g.total
+    FROM (SELECT keep_id, SUM(repeat_count) AS total FROM gone GROUP BY keep_id) g
+    WHERE n.id = g.keep_id
+)
+UPDATE notification_counters c SET unread = GREATEST(c.unread - g.n, 0)
+FROM (SELECT user_id, category, COUNT(*) AS n FROM gone GROUP BY user_id, category) g
+WHERE c.user_id = g.user_id AND c.category = g.category;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_notifications_unread_conversation
+    ON notifications (user_id, conversation_id)
+    WHERE type = 'new_message' AND read = false;
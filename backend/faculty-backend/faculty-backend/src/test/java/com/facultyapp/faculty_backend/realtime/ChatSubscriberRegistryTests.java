@@ -0,0 +1,55 @@
+package com.facultyapp.faculty_backend.realtime;
+
+import com.facultyapp.faculty_backend.dto.MessageResponse;
+import com.facultyapp.faculty_backend.security.TokenAuthenticator;
+import com.facultyapp.faculty_backend.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatSubscriberRegistryTests {
+
+	private final TokenAuthenticator tokenAuthenticator = mock(TokenAuthenticator.class);
+
+	private final ChatSubscriberRegistry registry = new ChatSubscriberRegistry(
+			JsonMapper.builder().build(), Runnable::run, tokenAuthenticator, 16);
+
+	@Test
+	void socketIsClosedOnceItsTokenNoLongerAuthenticates() throws Exception {
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn("s1");
+		when(session.isOpen()).thenReturn(true);
+		VerifiedToken token = mock(VerifiedToken.class);
+
+		registry.register(session, 7L, token);
+		registry.subscribe(registry.get(session), 1L);
+
+		when(tokenAuthenticator.isStillValid(token)).thenReturn(true);
+		registry.onChatEvent(event());
+		verify(session, times(1)).sendMessage(any(TextMessage.class));
+
+		// logged out, revoked or expired since the handshake
+		when(tokenAuthenticator.isStillValid(token)).thenReturn(false);
+		registry.onChatEvent(event());
+
+		verify(session, times(1)).sendMessage(any(TextMessage.class));
+		verify(session).close(ChatSubscriber.SESSION_EXPIRED);
+		verify(session, never()).close(ChatSubscriber.TOO_SLOW);
+	}
+
+	private static ChatMessageEvent event() {
+		return new ChatMessageEvent(ChatMessageEvent.CREATED, 1L,
+				new MessageResponse(10L, 8L, "b@college.edu", "hi", false, LocalDateTime.of(2026, 1, 1, 9, 0)));
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.facultyapp.faculty_backend.security;
+
+import com.facultyapp.faculty_backend.entity.Role;
+import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CurrentUserInjectionTests {
+
+	@MockitoBean
+	private JavaMailSender mailSender;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void currentUserEndpointReceivesTheCallerFromTheToken() throws Exception {
+		User admin = new User();
+		admin.setEmail("current-user@college.edu");
+		admin.setPassword(passwordEncoder.encode("secret"));
+		admin.setRole(Role.ADMIN);
+		users.save(admin);
+
+		String login = mvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"current-user@college.edu\",\"password\":\"secret\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String token = JsonPath.read(login, "$.token");
+
+		mvc.perform(get("/users/chat-users").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.facultyapp.faculty_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTests {
+
+	@Test
+	void verifiesOnceAndServesRepeatsFromCache() {
+		JwtUtil jwtUtil = new JwtUtil();
+		String token = jwtUtil.generateToken(7L, "a@college.edu", "FACULTY", 0);
+
+		VerifiedToken first = jwtUtil.verify(token);
+		VerifiedToken second = jwtUtil.verify(token);
+
+		assertThat(first.getSubject()).isEqualTo("a@college.edu");
+		assertThat(first.getUserId()).isEqualTo(7L);
+		assertThat(first.getRole()).isEqualTo("FACULTY");
+		assertThat(second).isSameAs(first);
+		assertThat(jwtUtil.cacheStats().get("misses")).isEqualTo(1L);
+		assertThat(jwtUtil.cacheStats().get("hits")).isEqualTo(1L);
+	}
+
+	@Test
+	void fullCacheIsTrimmedWellBelowItsLimit() {
+		JwtUtil jwtUtil = new JwtUtil();
+		for (int i = 0; i < 10_000; i++) {
+			jwtUtil.verify(jwtUtil.generateToken((long) i, i + "@college.edu", "FACULTY", 0));
+		}
+		assertThat(jwtUtil.cacheStats().get("size")).isEqualTo(10_000L);
+
+		// one sweep makes room for the next thousand misses
+		jwtUtil.verify(jwtUtil.generateToken(0L, "a@college.edu", "FACULTY", 0));
+		assertThat(jwtUtil.cacheStats().get("size")).isEqualTo(9_001L);
+	}
+
+	@Test
+	void rejectsTamperedToken() {
+		JwtUtil jwtUtil = new JwtUtil();
+		String token = jwtUtil.generateToken(7L, "a@college.edu", "FACULTY", 0);
+		String tampered = token.substring(0, token.length() - 2) + "xx";
+
+		assertThat(jwtUtil.validateToken(tampered)).isFalse();
+		assertThat(jwtUtil.validateToken(token)).isTrue();
+	}
+
+}
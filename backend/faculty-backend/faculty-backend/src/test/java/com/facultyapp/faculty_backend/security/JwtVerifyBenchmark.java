@@ -0,0 +1,74 @@
+package com.facultyapp.faculty_backend.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-request JWT cost, before and after the shared parser and verified-token
+ * cache. Opt-in: {@code mvn test -Dtest=JwtVerifyBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerifyBenchmark {
+
+	private static final int TOKENS = 1_000;
+
+	@Test
+	void verify() {
+		Key key = Keys.hmacShaKeyFor("benchmark_secret_key_which_is_at_least_32_chars".getBytes(StandardCharsets.UTF_8));
+		String signed = Jwts.builder()
+				.setSubject("a@college.edu")
+				.claim("uid", 7L)
+				.claim("role", "FACULTY")
+				.setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+
+		JwtUtil jwtUtil = new JwtUtil();
+		String[] tokens = new String[TOKENS];
+		for (int i = 0; i < TOKENS; i++) {
+			tokens[i] = jwtUtil.generateToken((long) i, i + "@college.edu", "FACULTY", 0);
+		}
+
+		// before: validateToken and extractEmail each built a parser and checked the HMAC
+		report("parser per call, verified twice", i -> {
+			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(signed);
+			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(signed).getBody().getSubject();
+		});
+
+		// first request with a token: shared parser, one HMAC
+		JwtUtil cold = new JwtUtil();
+		String[] fresh = new String[200_000];
+		for (int i = 0; i < fresh.length; i++) {
+			fresh[i] = jwtUtil.generateToken((long) i, "a@college.edu", "FACULTY", 0);
+		}
+		report("verify, cache miss", i -> cold.verify(fresh[i % fresh.length]));
+
+		// every later request with the same token
+		report("verify, cache hit", i -> jwtUtil.verify(tokens[i % TOKENS]));
+	}
+
+	private static void report(String name, IntConsumer op) {
+		for (int i = 0; i < 20_000; i++) {
+			op.accept(i);
+		}
+
+		int ops = 0;
+		long start = System.nanoTime();
+		long end = start + 2_000_000_000L;
+		while (System.nanoTime() < end) {
+			op.accept(ops++);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("BENCH %-34s %,12.0f ops/s %8.2f us/op%n", name, ops / seconds, seconds * 1e6 / ops);
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.facultyapp.faculty_backend.security;
+
+import com.facultyapp.faculty_backend.entity.Role;
+import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Login throughput under a burst, and the response time of a known versus an
+ * unknown email. Opt-in: {@code mvn test -Dtest=LoginBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+		"app.security.rate-limit.ip.capacity=1000000",
+		"app.security.rate-limit.account.capacity=1000000"
+})
+@AutoConfigureMockMvc
+class LoginBenchmark {
+
+	private static final int CLIENTS = 32;
+	private static final long SECONDS = 10;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void login() throws Exception {
+		User admin = new User();
+		admin.setEmail("bench@college.edu");
+		admin.setPassword(passwordEncoder.encode("secret"));
+		admin.setRole(Role.ADMIN);
+		users.save(admin);
+
+		// warm up, and sequential latency: known vs unknown email
+		for (int i = 0; i < 20; i++) {
+			login("bench@college.edu");
+			login("nobody@college.edu");
+		}
+		System.out.printf("BENCH known email   %6.1f ms/login%n", latency("bench@college.edu"));
+		System.out.printf("BENCH unknown email %6.1f ms/login%n", latency("nobody@college.edu"));
+
+		// burst: CLIENTS concurrent logins for SECONDS
+		AtomicLong ok = new AtomicLong();
+		AtomicLong throttled = new AtomicLong();
+		long end = System.nanoTime() + SECONDS * 1_000_000_000L;
+
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<?>> running = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			running.add(clients.submit(() -> {
+				while (System.nanoTime() < end) {
+					int status = login("bench@college.edu");
+					(status == 200 ? ok : throttled).incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : running) {
+			f.get();
+		}
+		clients.shutdown();
+
+		System.out.printf("BENCH burst of %d clients: %.1f logins/s, %d rejected with 503%n",
+				CLIENTS, ok.get() / (double) SECONDS, throttled.get());
+	}
+
+	private double latency(String email) throws Exception {
+		int n = 50;
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			login(email);
+		}
+		return (System.nanoTime() - start) / 1e6 / n;
+	}
+
+	private int login(String email) throws Exception {
+		return mvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"" + email + "\",\"password\":\"secret\"}"))
+				.andReturn().getResponse().getStatus();
+	}
+
+}
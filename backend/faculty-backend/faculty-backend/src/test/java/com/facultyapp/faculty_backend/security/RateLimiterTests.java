@@ -0,0 +1,95 @@
+package com.facultyapp.faculty_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+	@Test
+	void admitsBurstThenRefillsAtConfiguredRate() {
+		AtomicLong now = new AtomicLong(0);
+		RateLimiter limiter = new RateLimiter(5, 5, TimeUnit.SECONDS, now::get);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.tryAcquire("k")).isZero();
+		}
+		long wait = limiter.tryAcquire("k");
+		assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+		now.addAndGet(wait);
+		assertThat(limiter.tryAcquire("k")).isZero();
+		assertThat(limiter.tryAcquire("k")).isPositive();
+
+		// other keys are independent
+		assertThat(limiter.tryAcquire("other")).isZero();
+	}
+
+	@Test
+	void evictsOnlyFullyRefilledBuckets() {
+		AtomicLong now = new AtomicLong(0);
+		RateLimiter limiter = new RateLimiter(2, 2, TimeUnit.SECONDS, now::get);
+
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+
+		now.set(TimeUnit.SECONDS.toNanos(1));
+		assertThat(limiter.evictIdle()).isEqualTo(1);
+		assertThat(limiter.size()).isEqualTo(1);
+	}
+
+	@Test
+	void holdsLimitUnderConcurrentHammering() throws Exception {
+		int threads = 32;
+		int attemptsPerThread = 20_000;
+		int capacity = 100;
+
+		// frozen clock: nothing refills, so exactly `capacity` may pass per key
+		RateLimiter limiter = new RateLimiter(capacity, 1, TimeUnit.HOURS, () -> 42L);
+
+		AtomicInteger admittedHot = new AtomicInteger();
+		AtomicInteger admittedSpread = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		for (int t = 0; t < threads; t++) {
+			int id = t;
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < attemptsPerThread; i++) {
+					if (limiter.tryAcquire("hot") == 0) {
+						admittedHot.incrementAndGet();
+					}
+					if (limiter.tryAcquire("key-" + (id * attemptsPerThread + i) % 64) == 0) {
+						admittedSpread.incrementAndGet();
+					}
+				}
+			});
+		}
+
+		long began = System.nanoTime();
+		start.countDown();
+		pool.shutdown();
+		assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+
+		assertThat(admittedHot.get()).isEqualTo(capacity);
+		assertThat(admittedSpread.get()).isEqualTo(64 * capacity);
+
+		// 1.28M decisions; a lock-free path finishes this in well under the timeout
+		assertThat(elapsedMillis).isLessThan(30_000);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.facultyapp.faculty_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTests {
+
+	@Test
+	void revokedIdsAreRejectedUntilTheyExpire() {
+		TokenRevocationList list = new TokenRevocationList(1 << 16);
+		long now = System.currentTimeMillis();
+
+		list.revoke("live", now + 60_000);
+		list.revoke("already-expired", now - 1);
+
+		assertThat(list.isRevoked("live")).isTrue();
+		assertThat(list.isRevoked("never-revoked")).isFalse();
+		assertThat(list.isRevoked("already-expired")).isFalse();
+
+		list.prune();
+
+		assertThat(list.isRevoked("live")).isTrue();
+		assertThat(list.size()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.repository.ConversationReadRepository;
+import com.facultyapp.faculty_backend.repository.ConversationRepository;
+import com.facultyapp.faculty_backend.repository.MessageRepository;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationServiceTests {
+
+	// stands in for the conversations table and its unique (user1_id, user2_id) index;
+	// the real race runs against PostgreSQL in PostgresIntegrationTests
+	private final Map<String, Long> table = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final ConversationRepository repo = mock(ConversationRepository.class);
+	private final UserRepository userRepo = mock(UserRepository.class);
+
+	private final ConversationService service = new ConversationService(
+			repo, userRepo, mock(ConversationReadRepository.class), mock(MessageRepository.class),
+			mock(NotificationService.class), 100);
+
+	ConversationServiceTests() {
+		when(userRepo.existsById(anyLong())).thenReturn(true);
+		when(repo.findIdByPair(anyLong(), anyLong())).thenAnswer(inv ->
+				Optional.ofNullable(table.get(inv.getArgument(0) + ":" + inv.getArgument(1))));
+		when(repo.insertIfAbsent(anyLong(), anyLong())).thenAnswer(inv -> {
+			Long low = inv.getArgument(0);
+			Long high = inv.getArgument(1);
+			assertThat(low).isLessThanOrEqualTo(high);
+			return table.putIfAbsent(low + ":" + high, sequence.incrementAndGet()) == null ? 1 : 0;
+		});
+	}
+
+	@Test
+	void repeatedOpensAreServedFromTheCache() {
+		Long first = service.findOrCreateId(1L, 2L);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(service.findOrCreateId(2L, 1L)).isEqualTo(first);
+		}
+
+		// one miss before the insert, one re-read after it, nothing more
+		verify(repo, atMost(2)).findIdByPair(1L, 2L);
+	}
+
+	@Test
+	void aConversationWithYourselfIsRejected() {
+		assertThatThrownBy(() -> service.findOrCreateId(3L, 3L))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessage("Cannot start a conversation with yourself");
+
+		verify(repo, never()).insertIfAbsent(anyLong(), anyLong());
+	}
+
+}
@@ -0,0 +1,134 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.config.ArchiveExecutorConfig;
+import com.facultyapp.faculty_backend.dto.MessageCursor;
+import com.facultyapp.faculty_backend.dto.MessagePageResponse;
+import com.facultyapp.faculty_backend.entity.Conversation;
+import com.facultyapp.faculty_backend.entity.Message;
+import com.facultyapp.faculty_backend.entity.Role;
+import com.facultyapp.faculty_backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ MessageService.class, MessageWindowCache.class, MessageArchiveService.class, ArchiveExecutorConfig.class,
+		NotificationService.class })
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:history;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,READ",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MessageHistoryQueryTests {
+
+	@Autowired
+	private MessageService messageService;
+
+	@Autowired
+	private EntityManager em;
+
+	private Statistics statistics;
+
+	private Long conversationId;
+
+	private Long aliceId;
+
+	@BeforeEach
+	void seed() {
+		User alice = user("alice@example.com");
+		User bob = user("bob@example.com");
+
+		Conversation conversation = new Conversation();
+		conversation.setUser1(alice);
+		conversation.setUser2(bob);
+		em.persist(conversation);
+
+		for (int i = 0; i < 120; i++) {
+			Message m = new Message();
+			m.setConversation(conversation);
+			m.setSender(i % 2 == 0 ? alice : bob);
+			m.setContent("message " + i);
+			em.persist(m);
+		}
+
+		em.flush();
+		em.clear();
+
+		conversationId = conversation.getId();
+		aliceId = alice.getId();
+		statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void fiftyMessagePageIsOneParticipantCheckPlusOneProjection() {
+		MessagePageResponse latest = messageService.getMessages(conversationId, aliceId, null, null, 50);
+
+		assertThat(latest.getMessages()).hasSize(50);
+		assertThat(latest.getMessages()).allSatisfy(m -> assertThat(m.getSenderName()).endsWith("@example.com"));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		statistics.clear();
+		MessagePageResponse older = messageService.getMessages(conversationId, aliceId, latest.getNextCursor(), null, 50);
+
+		assertThat(older.getMessages()).hasSize(50);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void repeatedLatestPageIsServedWithoutStatements() {
+		messageService.getMessages(conversationId, aliceId, null, null, 50);
+		statistics.clear();
+
+		messageService.getMessages(conversationId, aliceId, null, null, 50);
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void nonParticipantIsRejectedEvenWhenTheWindowIsCached() {
+		messageService.getMessages(conversationId, aliceId, null, null, 50);
+		Long carolId = user("carol@example.com").getId();
+
+		assertThatThrownBy(() -> messageService.getMessages(conversationId, carolId, null, null, 50))
+				.hasMessage("Not allowed");
+	}
+
+	@Test
+	void forwardPagesAlwaysReturnTheNewestCursor() {
+		MessagePageResponse latest = messageService.getMessages(conversationId, aliceId, null, null, 50);
+		String oldestShown = MessageCursor.of(latest.getMessages().get(0)).encode();
+
+		MessagePageResponse since = messageService.getMessages(conversationId, aliceId, null, oldestShown, 50);
+		assertThat(since.isHasMore()).isFalse();
+		assertThat(since.getMessages()).hasSize(49);
+		assertThat(since.getNextCursor())
+				.isEqualTo(MessageCursor.of(latest.getMessages().get(49)).encode());
+
+		// nothing new yet: the client keeps polling from the same place
+		MessagePageResponse empty = messageService.getMessages(conversationId, aliceId, null, since.getNextCursor(), 50);
+		assertThat(empty.getMessages()).isEmpty();
+		assertThat(empty.getNextCursor()).isEqualTo(since.getNextCursor());
+	}
+
+	private User user(String email) {
+		User u = new User();
+		u.setEmail(email);
+		u.setPassword("hash");
+		u.setRole(Role.FACULTY);
+		em.persist(u);
+		return u;
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.dto.MessageResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageWindowCacheTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+	private static final Long READER = 7L;
+
+	@Test
+	void windowIsKeptCurrentBySendEditAndDelete() {
+		MessageWindowCache cache = new MessageWindowCache(3, 1 << 20);
+		cache.fill(1L, READER, newestFirst(1, 2), true, cache.stamp(1L));
+
+		cache.onSend(1L, message(3, "third"));
+		cache.onSend(1L, message(4, "fourth"));
+		cache.onEdit(1L, message(3, "third (edited)"));
+
+		assertThat(ids(cache.latest(1L, READER, 3))).containsExactly(4L, 3L, 2L);
+		assertThat(cache.latest(1L, READER, 3).get(1).getContent()).isEqualTo("third (edited)");
+
+		// message 1 fell out of the window, so older history now lives only in the DB
+		assertThat(cache.latest(1L, READER, 4)).isNull();
+
+		cache.onDelete(1L, 4L);
+		assertThat(ids(cache.latest(1L, READER, 2))).containsExactly(3L, 2L);
+	}
+
+	@Test
+	void fillThatRacedWithAWriteIsDropped() {
+		MessageWindowCache cache = new MessageWindowCache(10, 1 << 20);
+		long stamp = cache.stamp(1L);
+
+		cache.onSend(1L, message(3, "sent while the DB read was in flight"));
+		cache.fill(1L, READER, newestFirst(1, 2), true, stamp);
+
+		assertThat(cache.latest(1L, READER, 1)).isNull();
+	}
+
+	@Test
+	void sendAfterAFillThatAlreadySawTheMessageIsNotAddedTwice() {
+		MessageWindowCache cache = new MessageWindowCache(10, 1 << 20);
+
+		// the read saw the committed message before onSend ran
+		cache.fill(1L, READER, newestFirst(1, 3), true, cache.stamp(1L));
+		cache.onSend(1L, message(3, "x"));
+
+		assertThat(ids(cache.latest(1L, READER, 3))).containsExactly(3L, 2L, 1L);
+	}
+
+	@Test
+	void windowOnlyAnswersReadersItWasFilledFor() {
+		MessageWindowCache cache = new MessageWindowCache(10, 1 << 20);
+		cache.fill(1L, READER, newestFirst(1, 2), true, cache.stamp(1L));
+
+		assertThat(cache.latest(1L, 8L, 1)).isNull();
+
+		// the other participant's first read refills the window; both are served after that
+		cache.fill(1L, 8L, newestFirst(1, 2), true, cache.stamp(1L));
+		assertThat(cache.latest(1L, 8L, 1)).isNotNull();
+		assertThat(cache.latest(1L, READER, 1)).isNotNull();
+	}
+
+	@Test
+	void leastRecentlyReadConversationIsEvictedByWeight() {
+		long oneWindow = 2 * MessageWindowCache.weigh(message(1, "x"));
+		MessageWindowCache cache = new MessageWindowCache(2, 2 * oneWindow);
+
+		cache.fill(1L, READER, newestFirst(1, 2), true, cache.stamp(1L));
+		cache.fill(2L, READER, newestFirst(1, 2), true, cache.stamp(2L));
+		cache.latest(1L, READER, 1); // 1 is now more recent than 2
+		cache.fill(3L, READER, newestFirst(1, 2), true, cache.stamp(3L));
+
+		assertThat(cache.latest(1L, READER, 1)).isNotNull();
+		assertThat(cache.latest(2L, READER, 1)).isNull();
+		assertThat(cache.latest(3L, READER, 1)).isNotNull();
+		assertThat(cache.stats().get("evictions")).isEqualTo(1L);
+	}
+
+	private static List<MessageResponse> newestFirst(int fromId, int toId) {
+		List<MessageResponse> out = new ArrayList<>();
+		for (int id = toId; id >= fromId; id--) {
+			out.add(message(id, "x"));
+		}
+		return out;
+	}
+
+	private static MessageResponse message(long id, String content) {
+		MessageResponse m = new MessageResponse();
+		m.setId(id);
+		m.setSenderId(1L);
+		m.setSenderName("a@x");
+		m.setContent(content);
+		m.setCreatedAt(T0.plusMinutes(id));
+		return m;
+	}
+
+	private static List<Long> ids(List<MessageResponse> messages) {
+		return messages.stream().map(MessageResponse::getId).toList();
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.entity.Notification;
+import com.facultyapp.faculty_backend.entity.Role;
+import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.repository.NotificationRepository;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Inserting 10k notifications in one transaction: one statement per row (as
+ * IDENTITY forced, to read each key back) versus batched saveAll on the
+ * pooled sequence. Opt-in, and only meaningful against PostgreSQL:
+ * {@code mvn test -Dtest=NotificationInsertBenchmark -Dbenchmark=true
+ * -Dspring.datasource.url=jdbc:postgresql://... -Dspring.datasource.username=...}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+class NotificationInsertBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	@Autowired
+	private NotificationRepository notifications;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private TransactionTemplate tx;
+
+	@Test
+	void insert() {
+		User user = new User();
+		user.setEmail("insert-bench-" + System.nanoTime() + "@college.edu");
+		user.setPassword("hash");
+		user.setRole(Role.FACULTY);
+		users.save(user);
+
+		report("one statement per row", user, batch -> batch.forEach(n -> {
+			em.persist(n);
+			em.flush();
+			em.detach(n); // keep the context small: time the round trips, not dirty checking
+		}));
+		report("saveAll, batched", user, notifications::saveAll);
+
+		users.delete(user);
+	}
+
+	private void report(String name, User user, Consumer<List<Notification>> insert) {
+		double best = 0;
+		for (int run = 0; run < 3; run++) {
+			List<Notification> batch = batch(user);
+
+			long start = System.nanoTime();
+			tx.executeWithoutResult(s -> insert.accept(batch));
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			best = Math.max(best, ROWS / seconds);
+			tx.executeWithoutResult(s -> em.createQuery("delete from Notification n where n.user = :u")
+					.setParameter("u", user)
+					.executeUpdate());
+		}
+		System.out.printf("BENCH %-22s %,10.0f rows/s%n", name, best);
+	}
+
+	private static List<Notification> batch(User user) {
+		List<Notification> out = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			Notification n = new Notification();
+			n.setUser(user);
+			n.setCategory("Meetings");
+			n.setType("meeting_invite");
+			n.setMessage("Invited to meeting " + i);
+			out.add(n);
+		}
+		return out;
+	}
+
+}
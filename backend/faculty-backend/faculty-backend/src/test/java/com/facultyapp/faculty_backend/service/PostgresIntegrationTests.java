@@ -0,0 +1,448 @@
+package com.facultyapp.faculty_backend.service;
+
+import com.facultyapp.faculty_backend.config.DatabaseSchemaInitializer;
+import com.facultyapp.faculty_backend.dto.ConversationResponse;
+import com.facultyapp.faculty_backend.dto.MessageSearchHit;
+import com.facultyapp.faculty_backend.entity.Role;
+import com.facultyapp.faculty_backend.entity.User;
+import com.facultyapp.faculty_backend.repository.UserRepository;
+import com.facultyapp.faculty_backend.security.CurrentUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The native SQL paths (ON CONFLICT, RETURNING, writable CTEs) that H2 can't
+ * run. Needs a throwaway PostgreSQL database, whose tables are recreated:
+ * {@code mvn test -Dtest=PostgresIntegrationTests
+ * -Dpg.url=jdbc:postgresql://localhost:5432/faculty_test -Dpg.user=postgres -Dpg.password=...}
+ */
+@EnabledIfSystemProperty(named = "pg.url", matches = ".+")
+@SpringBootTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"app.notifications.retention.enabled=true",
+		"app.notifications.retention.cron=-",
+		"app.notifications.retention.read-days=30",
+		"app.notifications.retention.unread-days=180",
+		"app.notifications.retention.chunk-size=7",
+		"app.notifications.retention.pause-ms=0",
+		"app.chat.archive.enabled=true",
+		"app.chat.archive.cron=-",
+		"app.chat.archive.after-days=30",
+		"app.chat.archive.batch-size=2",
+		"app.chat.archive.pause-ms=0"
+})
+class PostgresIntegrationTests {
+
+	private static final int THREADS = 16;
+
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> System.getProperty("pg.url"));
+		registry.add("spring.datasource.username", () -> System.getProperty("pg.user", "postgres"));
+		registry.add("spring.datasource.password", () -> System.getProperty("pg.password", ""));
+	}
+
+	@Autowired
+	private ConversationService conversationService;
+
+	@Autowired
+	private BroadcastService broadcastService;
+
+	@Autowired
+	private MessageService messageService;
+
+	@Autowired
+	private MessageArchiveService archiveService;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private NotificationRetentionService retentionService;
+
+	@Autowired
+	private UserRepository users;
+
+	@Autowired
+	private DatabaseSchemaInitializer schemaInitializer;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	// ================= CONVERSATIONS =================
+
+	@Test
+	void parallelCreatesFromBothSidesYieldOneConversation() throws Exception {
+		User a = user(Role.FACULTY);
+		User b = user(Role.FACULTY);
+
+		List<Long> ids = race(i -> i % 2 == 0
+				? conversationService.findOrCreateId(a.getId(), b.getId())
+				: conversationService.findOrCreateId(b.getId(), a.getId()));
+
+		assertThat(new HashSet<>(ids)).hasSize(1);
+		assertThat(jdbc.queryForList(
+				"select user1_id, user2_id from conversations where id = ?", ids.get(0)).get(0))
+				.containsEntry("user1_id", Math.min(a.getId(), b.getId()))
+				.containsEntry("user2_id", Math.max(a.getId(), b.getId()));
+		assertThat(jdbc.queryForObject(
+				"select count(*) from conversations where user1_id in (?, ?) and user2_id in (?, ?)",
+				Long.class, a.getId(), b.getId(), a.getId(), b.getId())).isEqualTo(1);
+	}
+
+	@Test
+	void schemaScriptFoldsDuplicateConversationsWithWhatPointsAtThem() throws Exception {
+		User a = user(Role.FACULTY);
+		User b = user(Role.FACULTY);
+		Long keep = conversationService.findOrCreateId(a.getId(), b.getId());
+
+		// a duplicate from before uk_conversations_pair, stored in the old order
+		jdbc.update("DROP INDEX uk_conversations_pair");
+		Long duplicate = jdbc.queryForObject("select nextval('conversations_seq')", Long.class);
+		jdbc.update("INSERT INTO conversations (id, user1_id, user2_id, created_at) VALUES (?, ?, ?, now())",
+				duplicate, Math.max(a.getId(), b.getId()), Math.min(a.getId(), b.getId()));
+
+		messageService.sendMessage(keep, sender(b), "k1");
+		messageService.sendMessage(duplicate, sender(b), "d1");
+		Long k2 = messageService.sendMessage(keep, sender(a), "k2").getId();
+		Long d2 = messageService.sendMessage(duplicate, sender(a), "d2").getId();
+		conversationService.markRead(keep, b.getId(), k2);
+		conversationService.markRead(duplicate, b.getId(), d2);
+
+		schemaInitializer.afterPropertiesSet();
+
+		assertThat(jdbc.queryForObject("select count(*) from conversations where id = ?", Long.class, duplicate))
+				.isZero();
+		for (String table : List.of("messages", "notifications", "conversation_reads")) {
+			assertThat(jdbc.queryForObject(
+					"select count(*) from " + table + " where conversation_id = ?", Long.class, duplicate))
+					.as(table).isZero();
+		}
+
+		// b's furthest mark survives; a's two unread chat notifications become one
+		assertThat(jdbc.queryForObject(
+				"select last_read_message_id from conversation_reads where conversation_id = ? and user_id = ?",
+				Long.class, keep, b.getId())).isEqualTo(d2);
+		assertThat(jdbc.queryForObject(
+				"select repeat_count from notifications where user_id = ? and type = 'new_message' and not read",
+				Integer.class, a.getId())).isEqualTo(2);
+		assertThat(drift(a.getId())).isZero();
+
+		ConversationResponse inbox = conversationService.getInbox(b.getId()).get(0);
+		assertThat(inbox.getId()).isEqualTo(keep);
+		assertThat(inbox.getLastMessagePreview()).isEqualTo("d2");
+		assertThat(inbox.getUnreadCount()).isZero();
+	}
+
+	// ================= BROADCAST =================
+
+	@Test
+	void broadcastSendsOneMessagePerFacultyAndFoldsTheirNotifications() {
+		User admin = user(Role.ADMIN);
+		List<User> faculty = List.of(faculty(), faculty(), faculty());
+		CurrentUser sender = new CurrentUser(admin.getId(), admin.getEmail(), Role.ADMIN);
+
+		assertThat(broadcastService.broadcast(sender, "Exam schedule is out").getRecipients())
+				.isGreaterThanOrEqualTo(faculty.size());
+		assertThat(broadcastService.broadcast(sender, "Exam schedule, corrected").getNewConversations())
+				.isZero();
+
+		for (User f : faculty) {
+			List<ConversationResponse> inbox = conversationService.getInbox(f.getId());
+			assertThat(inbox).hasSize(1);
+			assertThat(inbox.get(0).getOtherUserId()).isEqualTo(admin.getId());
+			assertThat(inbox.get(0).getLastMessagePreview()).isEqualTo("Exam schedule, corrected");
+			assertThat(inbox.get(0).getUnreadCount()).isEqualTo(2);
+
+			// both messages folded into one unread notification, counted once
+			assertThat(jdbc.queryForObject(
+					"select repeat_count from notifications where user_id = ? and type = 'new_message' and not read",
+					Integer.class, f.getId())).isEqualTo(2);
+			assertThat(notificationService.getUnreadCount(f.getId()).getByCategory()).containsEntry("Admin", 1L);
+			assertThat(drift(f.getId())).isZero();
+		}
+	}
+
+	// ================= SEARCH =================
+
+	@Test
+	void searchCoversOnlyTheCallersConversations() {
+		User me = user(Role.FACULTY);
+		User friend = user(Role.FACULTY);
+		User stranger = user(Role.FACULTY);
+		String word = "zebra" + System.nanoTime();
+
+		Long mine = conversationService.findOrCreateId(me.getId(), friend.getId());
+		Long theirs = conversationService.findOrCreateId(friend.getId(), stranger.getId());
+		messageService.sendMessage(mine, sender(friend), "mine " + word);
+		messageService.sendMessage(theirs, sender(stranger), "theirs " + word);
+
+		assertThat(messageService.search(me.getId(), word, null, null, 10).getResults())
+				.extracting(MessageSearchHit::getConversationId)
+				.containsExactly(mine);
+		assertThat(messageService.search(friend.getId(), word, null, null, 10).getResults())
+				.extracting(MessageSearchHit::getConversationId)
+				.containsExactlyInAnyOrder(mine, theirs);
+		assertThat(messageService.search(friend.getId(), word, theirs, null, 10).getResults())
+				.extracting(MessageSearchHit::getConversationId)
+				.containsExactly(theirs);
+	}
+
+	@Test
+	void archivedMessagesMoveInBatchesAndStayReadable() {
+		// not a JPA table, so create-drop leaves earlier runs' rows behind
+		jdbc.update("TRUNCATE messages_archive");
+		User a = user(Role.FACULTY);
+		User b = user(Role.FACULTY);
+		Long conversationId = conversationService.findOrCreateId(a.getId(), b.getId());
+		for (int i = 0; i < 5; i++) {
+			messageService.sendMessage(conversationId, sender(a), "old " + i);
+		}
+		messageService.sendMessage(conversationId, sender(b), "new");
+		jdbc.update("update messages set created_at = created_at - interval '60 days' where conversation_id = ? and content like 'old %'",
+				conversationId);
+
+		archiveService.archiveColdMessages();
+
+		assertThat(archiveService.stats()).containsEntry("failures", 0L).containsEntry("running", false);
+		assertThat(jdbc.queryForObject("select count(*) from messages_archive where conversation_id = ?",
+				Long.class, conversationId)).isEqualTo(5);
+		assertThat(messageService.getMessages(conversationId, a.getId(), null, null, 10).getMessages())
+				.extracting(m -> m.getContent())
+				.containsExactly("old 0", "old 1", "old 2", "old 3", "old 4", "new");
+	}
+
+	// ================= NOTIFICATIONS =================
+
+	@Test
+	void countersFollowCreateReadAndBulkChanges() throws Exception {
+		User user = user(Role.FACULTY);
+		for (int i = 0; i < 3; i++) {
+			notificationService.create(user, "Classes", "class", "class " + i, null);
+		}
+		for (int i = 0; i < 2; i++) {
+			notificationService.create(user, "Submissions", "submission", "submission " + i, null);
+		}
+		assertThat(notificationService.getUnreadCount(user.getId()).getTotal()).isEqualTo(5);
+
+		// racing reads of the same notification take the counter down once
+		Long first = notificationId(user, "class 0");
+		race(i -> {
+			notificationService.markAsRead(first, user.getId());
+			return first;
+		});
+		assertThat(notificationService.getUnreadCount(user.getId()).getByCategory())
+				.containsEntry("Classes", 2L)
+				.containsEntry("Submissions", 2L);
+
+		assertThat(notificationService.markAllAsRead(user.getId(), null, "Classes", null)).isEqualTo(2);
+		assertThat(notificationService.deleteAll(user.getId(), List.of(notificationId(user, "submission 0")), null, null))
+				.isEqualTo(1);
+
+		assertThat(notificationService.getUnreadCount(user.getId()).getByCategory())
+				.containsEntry("Classes", 0L)
+				.containsEntry("Submissions", 1L);
+		assertThat(drift(user.getId())).isZero();
+	}
+
+	@Test
+	void readingAllBroadcastsMovesOneMarkInsteadOfWritingStateRows() {
+		User admin = user(Role.ADMIN);
+		User user = user(Role.FACULTY);
+		for (int i = 0; i < 3; i++) {
+			notificationService.broadcast(admin.getId(), "Meetings", "meeting", "meeting " + i, null);
+		}
+		Long read = broadcastId("meeting 0");
+		Long dismissed = broadcastId("meeting 1");
+		notificationService.markAsRead(read, user.getId());
+		notificationService.delete(dismissed, user.getId());
+		long unread = notificationService.getUnreadCount(user.getId()).getTotal();
+
+		assertThat(notificationService.markAllAsRead(user.getId(), null, null, null)).isEqualTo(unread);
+
+		// the read row is folded into the mark; only the dismissal is left
+		assertThat(jdbc.queryForList(
+				"select broadcast_id from broadcast_notification_states where user_id = ?", Long.class, user.getId()))
+				.containsExactly(dismissed);
+		assertThat(notificationService.getUnreadCount(user.getId()).getTotal()).isZero();
+		assertThat(notificationService.getMyNotifications(user.getId(), null, 100, null, false).getNotifications())
+				.allSatisfy(n -> assertThat(n.isRead()).isTrue())
+				.extracting(n -> n.getId())
+				.contains(read)
+				.doesNotContain(dismissed);
+
+		// newer broadcasts are unread again; older ones need no state row
+		notificationService.broadcast(admin.getId(), "Meetings", "meeting", "meeting 3", null);
+		notificationService.markAsRead(read, user.getId());
+		assertThat(jdbc.queryForObject(
+				"select count(*) from broadcast_notification_states where user_id = ?", Long.class, user.getId()))
+				.isEqualTo(1);
+		assertThat(notificationService.getMyNotifications(user.getId(), null, 100, null, true).getNotifications())
+				.extracting(n -> n.getId())
+				.containsExactly(broadcastId("meeting 3"));
+		assertThat(notificationService.markAllAsRead(user.getId(), null, null, null)).isEqualTo(1);
+		assertThat(notificationService.markAllAsRead(user.getId(), null, null, null)).isZero();
+	}
+
+	@Test
+	void concurrentChatNotificationsCoalesceIntoOneRow() throws Exception {
+		User reader = user(Role.FACULTY);
+		User writer = user(Role.FACULTY);
+		Long conversationId = conversationService.findOrCreateId(reader.getId(), writer.getId());
+
+		race(i -> {
+			notificationService.createForConversation(reader, conversationId, "Admin", "message " + i, null);
+			return conversationId;
+		});
+
+		assertThat(jdbc.queryForObject(
+				"select repeat_count from notifications where user_id = ? and conversation_id = ?",
+				Integer.class, reader.getId(), conversationId)).isEqualTo(THREADS);
+		assertThat(notificationService.getUnreadCount(reader.getId()).getByCategory()).containsEntry("Admin", 1L);
+
+		// once read, the next message starts a fresh notification
+		notificationService.markConversationRead(reader.getId(), conversationId);
+		notificationService.createForConversation(reader, conversationId, "Admin", "after read", null);
+
+		assertThat(jdbc.queryForObject(
+				"select count(*) from notifications where user_id = ? and conversation_id = ?",
+				Long.class, reader.getId(), conversationId)).isEqualTo(2);
+		assertThat(notificationService.getUnreadCount(reader.getId()).getByCategory()).containsEntry("Admin", 1L);
+		assertThat(drift(reader.getId())).isZero();
+	}
+
+	// ================= RETENTION =================
+
+	@Test
+	void retentionPurgesExactlyTheExpiredRowsAcrossWindows() {
+		User user = user(Role.FACULTY);
+		LocalDateTime now = LocalDateTime.now();
+
+		// newest first, so ids run against time the way pooled blocks can
+		for (int i = 0; i < 10; i++) {
+			insertNotification(user, now.minusDays(29), true);   // kept
+			insertNotification(user, now.minusDays(31), true);   // read, past 30 days
+			insertNotification(user, now.minusDays(179), false); // kept
+			insertNotification(user, now.minusDays(181), false); // unread, past 180 days
+		}
+		jdbc.update("""
+				INSERT INTO notification_counters (user_id, category, unread)
+				SELECT user_id, category, COUNT(*) FROM notifications
+				WHERE user_id = ? AND NOT read GROUP BY user_id, category
+				ON CONFLICT (user_id, category) DO UPDATE SET unread = EXCLUDED.unread
+				""", user.getId());
+
+		retentionService.purgeExpired();
+
+		assertThat(retentionService.stats()).containsEntry("failures", 0L);
+		assertThat(jdbc.queryForList(
+				"select created_at from notifications where user_id = ?", Timestamp.class, user.getId()))
+				.hasSize(20)
+				.allSatisfy(t -> assertThat(t.toLocalDateTime()).isAfter(now.minusDays(180)));
+		assertThat(notificationService.getUnreadCount(user.getId()).getByCategory()).containsEntry("Classes", 10L);
+		assertThat(drift(user.getId())).isZero();
+	}
+
+	// ================= HELPERS =================
+
+	private User user(Role role) {
+		User user = new User();
+		user.setEmail(role.name().toLowerCase() + "-" + System.nanoTime() + "@college.edu");
+		user.setPassword("hash");
+		user.setRole(role);
+		return users.save(user);
+	}
+
+	private User faculty() {
+		User user = user(Role.FACULTY);
+		jdbc.update("""
+				INSERT INTO faculty (id, user_id, name, phone, address, subjects, area_of_specialisation, status, deleted, aadhaar_file_path)
+				VALUES (nextval('faculty_seq'), ?, 'Faculty', '0000000000', 'Campus', 'DSA', 'Algorithms', 'ACTIVE', false, 'aadhaar.pdf')
+				""", user.getId());
+		return user;
+	}
+
+	private static CurrentUser sender(User user) {
+		return new CurrentUser(user.getId(), user.getEmail(), user.getRole());
+	}
+
+	private void insertNotification(User user, LocalDateTime createdAt, boolean read) {
+		jdbc.update("""
+				INSERT INTO notifications (id, user_id, category, type, message, read, muted, repeat_count, created_at)
+				VALUES (nextval('notifications_seq'), ?, 'Classes', 'class', 'old', ?, false, 1, ?)
+				""", user.getId(), read, Timestamp.valueOf(createdAt));
+	}
+
+	private Long notificationId(User user, String message) {
+		return jdbc.queryForObject("select id from notifications where user_id = ? and message = ?",
+				Long.class, user.getId(), message);
+	}
+
+	private Long broadcastId(String message) {
+		return jdbc.queryForObject("select id from broadcast_notifications where message = ?", Long.class, message);
+	}
+
+	// categories where the counter disagrees with the unread rows
+	private long drift(Long userId) {
+		return jdbc.queryForObject("""
+				SELECT COUNT(*) FROM (
+				    SELECT category, COUNT(*) AS n FROM notifications
+				    WHERE user_id = ? AND NOT read GROUP BY category
+				) a
+				FULL JOIN (SELECT category, unread FROM notification_counters WHERE user_id = ?) c
+				    ON c.category = a.category
+				WHERE COALESCE(a.n, 0) <> COALESCE(c.unread, 0)
+				""", Long.class, userId, userId);
+	}
+
+	private interface Task {
+		Long run(int i) throws Exception;
+	}
+
+	// THREADS calls released at once
+	private static List<Long> race(Task task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+
+		try {
+			List<Future<Long>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				int n = i;
+				Callable<Long> call = () -> {
+					start.await();
+					return task.run(n);
+				};
+				futures.add(pool.submit(call));
+			}
+			start.countDown();
+
+			List<Long> results = new ArrayList<>();
+			for (Future<Long> f : futures) {
+				results.add(f.get(30, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+}
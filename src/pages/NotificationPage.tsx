@@ -114,19 +114,62 @@ const NotificationPage = () => {
     "All"
   );
   const [selected, setSelected] = useState<Notification | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [unreadCount, setUnreadCount] = useState(0);
+
+  const category = activeTab === "All" ? undefined : activeTab;
+
+  // first page of the active tab; later pages append via loadMore
+  const loadFirstPage = () =>
+    notificationService.getMyNotifications({ category }).then((page) => {
+      setNotifications(page.notifications);
+      setNextCursor(page.nextCursor);
+    });
+
+  const refreshUnreadCount = () =>
+    notificationService.getUnreadCount().then((c) => setUnreadCount(c.total));
 
   useEffect(() => {
-    notificationService.getMyNotifications().then(setNotifications);
+    loadFirstPage();
+  }, [category]);
+
+  useEffect(() => {
+    refreshUnreadCount();
   }, []);
 
-  const unreadCount = notifications.filter((n) => !n.read).length;
+  // 📡 LIVE: a pushed notification goes on top, replacing an older copy of
+  // itself (a coalesced chat notification comes back with a new count)
+  useEffect(() => {
+    const stream = notificationService.openStream(
+      (n) => {
+        if (!category || n.category === category) {
+          setNotifications((prev) => [n, ...prev.filter((p) => p.id !== n.id)]);
+        }
+        refreshUnreadCount();
+      },
+      () => {
+        loadFirstPage();
+        refreshUnreadCount();
+      }
+    );
+    return () => stream.close();
+  }, [category]);
 
-  const filtered = notifications.filter(
-    (n) => activeTab === "All" || n.category === activeTab
-  );
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    const page = await notificationService.getMyNotifications({
+      category,
+      cursor: nextCursor,
+    });
+    setNotifications((prev) => [...prev, ...page.notifications]);
+    setNextCursor(page.nextCursor);
+  };
 
   const markAsRead = async (id: number) => {
     await notificationService.markAsRead(id);
+    if (notifications.some((n) => n.id === id && !n.read)) {
+      setUnreadCount((c) => Math.max(0, c - 1));
+    }
     setNotifications((prev) =>
       prev.map((n) => (n.id === id ? { ...n, read: true } : n))
     );
@@ -134,6 +177,9 @@ const NotificationPage = () => {
 
   const removeNotification = async (id: number) => {
     await notificationService.deleteNotification(id);
+    if (notifications.some((n) => n.id === id && !n.read)) {
+      setUnreadCount((c) => Math.max(0, c - 1));
+    }
     setNotifications((prev) => prev.filter((n) => n.id !== id));
     if (selected?.id === id) setSelected(null);
   };
@@ -177,12 +223,12 @@ const NotificationPage = () => {
 
         {/* List */}
         <div className="overflow-y-auto flex-1 no-scrollbar">
-          {filtered.length === 0 ? (
+          {notifications.length === 0 ? (
             <div className="p-10 text-center text-[var(--text-muted)] opacity-50 uppercase tracking-widest text-[10px] font-black">
               No notifications found
             </div>
           ) : (
-            filtered.map((n) => (
+            notifications.map((n) => (
               <div
                 key={n.id}
                 onClick={() => {
@@ -202,6 +248,11 @@ const NotificationPage = () => {
                         : "text-[var(--text-muted)]"
                     }`}
                   />
+                  {n.count > 1 && (
+                    <span className="text-[10px] font-bold px-1.5 rounded-full bg-[var(--accent)]/15 text-[var(--accent)] shrink-0">
+                      ×{n.count}
+                    </span>
+                  )}
                   {!n.read && (
                     <div className="w-2 h-2 rounded-full bg-[var(--accent)] mt-1.5 shrink-0" />
                   )}
@@ -220,6 +271,14 @@ const NotificationPage = () => {
               </div>
             ))
           )}
+          {nextCursor && (
+            <button
+              onClick={loadMore}
+              className="w-full p-4 text-[10px] font-black uppercase tracking-widest text-[var(--accent)] hover:bg-[var(--bg-main)] transition-all"
+            >
+              Load more
+            </button>
+          )}
         </div>
       </div>
 
@@ -11,6 +11,12 @@ export const calendarService = {
     return res.data;
   },
 
+  // invites are sent in the background; poll until status is DONE or FAILED
+  getInviteProgress: async (id: number) => {
+    const res = await api.get(`/calendar/events/${id}/invites`);
+    return res.data;
+  },
+
   deleteEvent: async (id: number) => {
     await api.delete(`/calendar/events/${id}`); // ✅ FIX
   },
@@ -1,8 +1,32 @@
 import api from "../api/axios";
 
+export interface ConversationSummary {
+  id: number;
+  otherUserId: number;
+  otherUserName: string;
+  lastMessageId: number | null;
+  lastMessageSenderId: number | null;
+  lastMessagePreview: string | null;
+  lastMessageAt: string | null;
+  unreadCount: number;
+}
+
 export const conversationService = {
   findOrCreate: async (otherUserId: number): Promise<number> => {
     const res = await api.post(`/conversations/${otherUserId}`);
     return res.data; // conversationId
   },
+
+  // inbox: newest activity first, with preview + unread count
+  getInbox: async (): Promise<ConversationSummary[]> => {
+    const res = await api.get("/conversations");
+    return res.data;
+  },
+
+  // moves my read mark forward (defaults to the newest message)
+  markRead: async (conversationId: number, messageId?: number): Promise<void> => {
+    await api.post(`/conversations/${conversationId}/read`, null, {
+      params: messageId ? { messageId } : undefined,
+    });
+  },
 };
@@ -5,6 +5,12 @@ export interface FacultyUser {
   name: string;
 }
 
+export interface BroadcastResult {
+  recipients: number;
+  newConversations: number;
+  sentAt: string;
+}
+
 export const facultyService = {
   // =========================
   // ADMIN
@@ -34,6 +40,12 @@ export const facultyService = {
     await api.delete(`/admin/faculty/${id}`);
   },
 
+  // message every active faculty member at once
+  broadcast: async (content: string): Promise<BroadcastResult> => {
+    const res = await api.post("/admin/broadcast", { content });
+    return res.data;
+  },
+
   // =========================
   // FACULTY REGISTRATION
   // =========================
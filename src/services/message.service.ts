@@ -9,9 +9,50 @@ export interface MessageResponse {
   createdAt: string;
 }
 
+export interface MessagePage {
+  messages: MessageResponse[]; // oldest -> newest
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface MessageSearchHit extends MessageResponse {
+  conversationId: number;
+}
+
+export interface MessageSearchPage {
+  results: MessageSearchHit[]; // best match first
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
 export const messageService = {
+  // latest page only; use getMessagePage to scroll back
   getMessages: async (conversationId: number): Promise<MessageResponse[]> => {
-    const res = await api.get(`/messages/${conversationId}`);
+    const page = await messageService.getMessagePage(conversationId);
+    return page.messages;
+  },
+
+  getMessagePage: async (
+    conversationId: number,
+    before?: string,
+    limit = 50
+  ): Promise<MessagePage> => {
+    const res = await api.get(`/messages/${conversationId}`, {
+      params: { before, limit },
+    });
+    return res.data;
+  },
+
+  // full-text search across my conversations (or one, if conversationId is given)
+  searchMessages: async (
+    q: string,
+    cursor?: string,
+    conversationId?: number,
+    limit = 20
+  ): Promise<MessageSearchPage> => {
+    const res = await api.get("/messages/search", {
+      params: { q, cursor, conversationId, limit },
+    });
     return res.data;
   },
 
@@ -1,20 +1,57 @@
 import api from "../api/axios";
+import { getToken } from "../utils/auth";
 
 export interface Notification {
   id: number;
+  // org-wide; read/delete only affect the current user
+  broadcast: boolean;
   category: string;
   type: string;
   message: string;
   context?: string;
+  conversationId?: number;
   read: boolean;
   muted: boolean;
+  // > 1 when a burst of chat messages was folded into this notification
+  count: number;
   createdAt: string;
 }
 
+export interface NotificationPage {
+  notifications: Notification[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+export interface UnreadCount {
+  total: number;
+  byCategory: Record<string, number>;
+}
+
+// no ids = every notification matching the other filters
+export interface NotificationBulkFilter {
+  ids?: number[];
+  category?: string;
+  before?: string;
+}
+
+const bulkParams = ({ ids, ...rest }: NotificationBulkFilter) => ({
+  ...rest,
+  ids: ids?.length ? ids.join(",") : undefined,
+});
+
 export const notificationService = {
-  // 🔹 GET my notifications
-  getMyNotifications: async (): Promise<Notification[]> => {
-    const res = await api.get("/notifications");
+  // 🔹 GET my notifications (one page, newest first; pass nextCursor for more)
+  getMyNotifications: async (
+    params: { cursor?: string; category?: string; unread?: boolean; limit?: number } = {}
+  ): Promise<NotificationPage> => {
+    const res = await api.get("/notifications", { params });
+    return res.data;
+  },
+
+  // 🔹 UNREAD BADGE (cheap; safe to poll)
+  getUnreadCount: async (): Promise<UnreadCount> => {
+    const res = await api.get("/notifications/unread-count");
     return res.data;
   },
 
@@ -27,4 +64,35 @@ export const notificationService = {
   deleteNotification: async (id: number) => {
     await api.delete(`/notifications/${id}`);
   },
+
+  // 🔹 MARK ALL AS READ (one request for the whole selection)
+  markAllAsRead: async (filter: NotificationBulkFilter = {}): Promise<number> => {
+    const res = await api.patch("/notifications/read", null, { params: bulkParams(filter) });
+    return res.data.updated;
+  },
+
+  // 🔹 DELETE ALL (one request for the whole selection)
+  deleteNotifications: async (filter: NotificationBulkFilter = {}): Promise<number> => {
+    const res = await api.delete("/notifications", { params: bulkParams(filter) });
+    return res.data.deleted;
+  },
+
+  // 🔹 LIVE STREAM (SSE): pushes new notifications, and bumped chat ones again
+  // with the same id. EventSource can't set headers, so the token goes in the
+  // query; it reconnects by itself and the server replays what was missed.
+  // "reset" means too much was missed: reload the feed instead.
+  openStream: (
+    onNotification: (n: Notification) => void,
+    onReset: () => void
+  ): EventSource => {
+    const token = encodeURIComponent(getToken() ?? "");
+    const source = new EventSource(`${api.defaults.baseURL}/notifications/stream?token=${token}`);
+
+    source.addEventListener("notification", (e) =>
+      onNotification(JSON.parse((e as MessageEvent).data))
+    );
+    source.addEventListener("reset", onReset);
+
+    return source;
+  },
 };